@@ -11,12 +11,35 @@ import com.printinghouse.model.publication.Book;
 import com.printinghouse.model.publication.Newspaper;
 import com.printinghouse.model.publication.PageSize;
 import com.printinghouse.service.PricingService;
+import com.printinghouse.simulation.LoadGenerator;
+import com.printinghouse.simulation.LoadReport;
+import com.printinghouse.simulation.WorkloadConfig;
 
 import java.math.BigDecimal;
 import java.util.Map;
 
 public class Main {
-    public static void main(String[] args) {
+    /**
+     * Runs the demo when started without arguments. With arguments, runs a soak test instead,
+     * e.g. {@code --clients=16 --duration=600}; see {@link WorkloadConfig#fromArgs(String[])} for the options.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            runSoakTest(WorkloadConfig.fromArgs(args));
+            return;
+        }
+        runDemo();
+    }
+
+    private static void runSoakTest(WorkloadConfig config) throws Exception {
+        System.out.println("--- Running Soak Test ---");
+        System.out.println(config);
+        LoadReport report = new LoadGenerator(config).run();
+        System.out.println("\n--- Final Soak Test Report ---");
+        System.out.print(report.format());
+    }
+
+    private static void runDemo() {
         System.out.println("--- Initializing Printing House ---");
 
         // 1. Setup Pricing
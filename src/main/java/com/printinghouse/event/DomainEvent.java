@@ -0,0 +1,12 @@
+package com.printinghouse.event;
+
+/**
+ * Something that happened in a printing house, published to listeners as it happens.
+ */
+public sealed interface DomainEvent permits SaleRecorded, JobPrinted, PaperAdded {
+
+    /**
+     * When the event happened, in epoch milliseconds.
+     */
+    long timestampMillis();
+}
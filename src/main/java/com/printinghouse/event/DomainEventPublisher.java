@@ -0,0 +1,152 @@
+package com.printinghouse.event;
+
+import com.printinghouse.model.PrintingHouse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Streams a printing house's domain events to {@link Flow.Subscriber}s in batches.
+ * <p>
+ * Events are handed from the house to a bounded staging queue, which never blocks the thread
+ * that recorded the sale or print. A background thread groups staged events into batches of up to
+ * {@code batchSize} and offers them to every subscriber. Each subscriber has its own bounded buffer of batches
+ * and receives them only as it requests them. Slow subscribers are never waited for: when a subscriber's buffer
+ * (or the staging queue) is full, events are dropped and counted in {@link #getDroppedEvents()}.
+ */
+public class DomainEventPublisher implements Flow.Publisher<List<DomainEvent>>, AutoCloseable {
+    private final PrintingHouse house;
+    private final Consumer<DomainEvent> listener = this::stage;
+    private final int batchSize;
+    private final ArrayBlockingQueue<DomainEvent> staged;
+    private final SubmissionPublisher<List<DomainEvent>> publisher;
+    private final ExecutorService deliveryExecutor;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * @param batchSize             The most events delivered in one batch.
+     * @param subscriberBuffer      The most batches buffered for each subscriber.
+     * @param flushIntervalMillis   The longest an event waits for its batch to fill up.
+     */
+    public DomainEventPublisher(PrintingHouse house, int batchSize, int subscriberBuffer, long flushIntervalMillis) {
+        if (batchSize <= 0 || subscriberBuffer <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Batch size, buffer and flush interval must be positive.");
+        }
+        this.house = house;
+        this.batchSize = batchSize;
+        this.staged = new ArrayBlockingQueue<>(batchSize * subscriberBuffer);
+        this.deliveryExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "domain-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = new SubmissionPublisher<>(deliveryExecutor, subscriberBuffer);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "domain-events-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        house.addEventListener(listener);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<DomainEvent>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Called on the house's hot path, so it only ever does a non-blocking offer.
+     */
+    private void stage(DomainEvent event) {
+        if (!staged.offer(event)) {
+            droppedEvents.increment();
+            return;
+        }
+        if (staged.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Closing; close() flushes whatever is left
+            }
+        }
+    }
+
+    private void flush() {
+        flushPending.set(false);
+        List<DomainEvent> batch = new ArrayList<>(batchSize);
+        while (staged.drainTo(batch, batchSize) > 0) {
+            List<DomainEvent> items = List.copyOf(batch);
+            batch.clear();
+            publishedEvents.add(items.size());
+            publisher.offer(items, (subscriber, dropped) -> {
+                droppedEvents.add(dropped.size());
+                return false; // Never retry; the sender must not wait for slow subscribers
+            });
+        }
+    }
+
+    /**
+     * Returns the number of events batched and offered to subscribers.
+     */
+    public long getPublishedEvents() {
+        return publishedEvents.sum();
+    }
+
+    /**
+     * Returns the number of events dropped because the staging queue was full,
+     * plus one for every subscriber that missed an event because its buffer was full.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * Stops listening to the house, delivers everything already staged, then completes every subscriber.
+     * Waits up to five seconds each for the last flush and for the last deliveries. Batches a subscriber has
+     * not requested by then are not delivered. If interrupted, stops waiting and keeps the interrupt status set.
+     */
+    @Override
+    public void close() {
+        house.removeEventListener(listener);
+        flusher.shutdown();
+        boolean interrupted = false;
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        flush();
+        publisher.close();
+        // Deliveries already queued, including the onComplete signals, still run after shutdown
+        deliveryExecutor.shutdown();
+        try {
+            if (!interrupted) {
+                deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
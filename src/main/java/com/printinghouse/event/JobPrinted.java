@@ -0,0 +1,11 @@
+package com.printinghouse.event;
+
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+
+/**
+ * A print job completed on one of the house's machines.
+ */
+public record JobPrinted(String machineID, Publication publication, int copies, Paper paper, int sheets,
+                         long timestampMillis) implements DomainEvent {
+}
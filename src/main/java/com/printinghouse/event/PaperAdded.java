@@ -0,0 +1,9 @@
+package com.printinghouse.event;
+
+import com.printinghouse.model.paper.Paper;
+
+/**
+ * Paper added to the house's inventory.
+ */
+public record PaperAdded(Paper paper, int amount, long timestampMillis) implements DomainEvent {
+}
@@ -0,0 +1,14 @@
+package com.printinghouse.event;
+
+import com.printinghouse.model.publication.Publication;
+
+import java.math.BigDecimal;
+
+/**
+ * A sale recorded by the house.
+ *
+ * @param clientID The client, or null for a sale at standard rates.
+ */
+public record SaleRecorded(Publication publication, int copies, String clientID, BigDecimal salePrice,
+                           long timestampMillis) implements DomainEvent {
+}
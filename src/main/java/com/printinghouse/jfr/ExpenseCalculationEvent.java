@@ -0,0 +1,23 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A recalculation of the house's total expenses.
+ */
+@Name("com.printinghouse.ExpenseCalculation")
+@Label("Expense Calculation")
+@Category({"Printing House", "Finance"})
+@Description("A recalculation of total expenses from salaries and paper costs")
+@Threshold("0 ms")
+public class ExpenseCalculationEvent extends jdk.jfr.Event {
+    @Label("Employees")
+    public int employees;
+
+    @Label("Total Expenses")
+    public double totalExpenses;
+}
@@ -0,0 +1,31 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A file read or written by {@link com.printinghouse.service.FileService}.
+ */
+@Name("com.printinghouse.FileIo")
+@Label("File I/O")
+@Category({"Printing House", "I/O"})
+@Description("A report or employee file read or written by the printing house")
+@Threshold("0 ms")
+public class FileIoEvent extends jdk.jfr.Event {
+    public static final String READ = "read";
+    public static final String WRITE = "write";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("File")
+    public String path;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,31 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Paper loaded into a machine, or a load that was rejected.
+ */
+@Name("com.printinghouse.PaperLoad")
+@Label("Paper Load")
+@Category({"Printing House", "Machines"})
+@Description("Paper loaded into a printing machine")
+@StackTrace(false)
+@Threshold("0 ms")
+public class PaperLoadEvent extends jdk.jfr.Event {
+    @Label("Machine ID")
+    public String machineID;
+
+    @Label("Paper")
+    public String paper;
+
+    @Label("Sheets")
+    public int sheets;
+
+    @Label("Status")
+    public String status;
+}
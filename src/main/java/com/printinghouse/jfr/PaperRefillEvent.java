@@ -0,0 +1,28 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One check of a machine by the background paper refill service.
+ */
+@Name("com.printinghouse.PaperRefill")
+@Label("Paper Refill")
+@Category({"Printing House", "Machines"})
+@Description("A background check that refills a machine and stages paper for it")
+@StackTrace(false)
+@Threshold("0 ms")
+public class PaperRefillEvent extends jdk.jfr.Event {
+    @Label("Machine ID")
+    public String machineID;
+
+    @Label("Sheets Loaded")
+    public int sheetsLoaded;
+
+    @Label("Sheets Staged")
+    public int sheetsStaged;
+}
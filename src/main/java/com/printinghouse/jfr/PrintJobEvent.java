@@ -0,0 +1,37 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A print job attempted on a machine, whether it succeeded or was rejected.
+ */
+@Name("com.printinghouse.PrintJob")
+@Label("Print Job")
+@Category({"Printing House", "Machines"})
+@Description("A print job attempted on a printing machine")
+@StackTrace(false)
+@Threshold("0 ms")
+public class PrintJobEvent extends jdk.jfr.Event {
+    @Label("Machine ID")
+    public String machineID;
+
+    @Label("Title")
+    public String title;
+
+    @Label("Copies")
+    public int copies;
+
+    @Label("Sheets")
+    public long sheets;
+
+    @Label("Color")
+    public boolean useColor;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,23 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A financial report saved by the house, from taking the snapshot to the last byte written.
+ */
+@Name("com.printinghouse.ReportSave")
+@Label("Report Save")
+@Category({"Printing House", "Finance"})
+@Description("A financial report saved by the printing house")
+@Threshold("0 ms")
+public class ReportSaveEvent extends jdk.jfr.Event {
+    @Label("File")
+    public String filename;
+
+    @Label("Titles")
+    public int titles;
+}
@@ -0,0 +1,31 @@
+package com.printinghouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A sale recorded by the house, including the time spent waiting for the house lock.
+ */
+@Name("com.printinghouse.Sale")
+@Label("Sale")
+@Category({"Printing House", "Finance"})
+@Description("A sale recorded by the printing house")
+@StackTrace(false)
+@Threshold("0 ms")
+public class SaleEvent extends jdk.jfr.Event {
+    @Label("Title")
+    public String title;
+
+    @Label("Copies")
+    public int copies;
+
+    @Label("Client ID")
+    public String clientID;
+
+    @Label("Sale Price")
+    public double salePrice;
+}
@@ -0,0 +1,87 @@
+package com.printinghouse.model;
+
+import com.printinghouse.model.publication.Publication;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running cost and revenue totals based on the paper actually consumed by print jobs.
+ * Totals are kept per publication and per machine and updated as each job or sale is recorded,
+ * so every query is a single lookup.
+ */
+public class CostLedger {
+    private final Map<Publication, Totals> byPublication = new HashMap<>();
+    private final Map<String, Totals> byMachine = new HashMap<>();
+    private final Totals overall = new Totals();
+
+    /**
+     * Records the paper consumed by one print job.
+     */
+    public synchronized void recordJob(String machineID, Publication publication, int sheets, BigDecimal paperCost) {
+        byPublication.computeIfAbsent(publication, p -> new Totals()).addJob(sheets, paperCost);
+        byMachine.computeIfAbsent(machineID, m -> new Totals()).addJob(sheets, paperCost);
+        overall.addJob(sheets, paperCost);
+    }
+
+    /**
+     * Records the revenue from a sale.
+     */
+    public synchronized void recordSale(Publication publication, BigDecimal revenue) {
+        Totals totals = byPublication.computeIfAbsent(publication, p -> new Totals());
+        totals.revenue = totals.revenue.add(revenue);
+        overall.revenue = overall.revenue.add(revenue);
+    }
+
+    /**
+     * Returns the totals for a publication, or an all-zero summary if it was never printed or sold.
+     */
+    public synchronized CostSummary getPublicationSummary(Publication publication) {
+        Totals totals = byPublication.get(publication);
+        return totals == null ? CostSummary.EMPTY : totals.toSummary();
+    }
+
+    /**
+     * Returns the totals for a machine, or an all-zero summary if it never printed.
+     * Machines do not sell anything, so the revenue (and margin) is only meaningful house-wide or per publication.
+     */
+    public synchronized CostSummary getMachineSummary(String machineID) {
+        Totals totals = byMachine.get(machineID);
+        return totals == null ? CostSummary.EMPTY : totals.toSummary();
+    }
+
+    public synchronized CostSummary getTotalSummary() {
+        return overall.toSummary();
+    }
+
+    public synchronized BigDecimal getTotalPaperCost() {
+        return overall.paperCost;
+    }
+
+    /**
+     * An immutable view of the totals at the time it was taken.
+     */
+    public record CostSummary(long sheetsConsumed, BigDecimal paperCost, BigDecimal revenue) {
+        static final CostSummary EMPTY = new CostSummary(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        public BigDecimal margin() {
+            return revenue.subtract(paperCost);
+        }
+    }
+
+    private static class Totals {
+        long sheets;
+        BigDecimal paperCost = BigDecimal.ZERO;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        void addJob(int jobSheets, BigDecimal jobCost) {
+            sheets += jobSheets;
+            paperCost = paperCost.add(jobCost);
+        }
+
+        CostSummary toSummary() {
+            return new CostSummary(sheets, paperCost, revenue);
+        }
+    }
+}
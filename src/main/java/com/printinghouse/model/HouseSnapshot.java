@@ -0,0 +1,24 @@
+package com.printinghouse.model;
+
+import com.printinghouse.model.publication.Publication;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * A consistent, point-in-time view of a PrintingHouse's finances.
+ * All fields were captured together under the house lock, so the totals always agree with the per-publication sales.
+ *
+ * @param epoch The number of sales recorded before the snapshot was taken.
+ */
+public record HouseSnapshot(
+        String name,
+        long epoch,
+        BigDecimal totalRevenue,
+        BigDecimal totalExpenses,
+        Map<Publication, Integer> publicationsSold
+) {
+    public BigDecimal netProfit() {
+        return totalRevenue.subtract(totalExpenses);
+    }
+}
@@ -0,0 +1,20 @@
+package com.printinghouse.model;
+
+import java.util.List;
+
+/**
+ * A DTO summarising a bulk import run.
+ * Only the first few errors are kept in {@code errors}; {@code errorCount} holds the full number.
+ */
+public record ImportResult(
+        long rowsRead,
+        long rowsApplied,
+        long errorCount,
+        List<RowError> errors
+) {
+    /**
+     * A row that could not be parsed or applied, with its 1-based line number in the source file.
+     */
+    public record RowError(long line, String message) {
+    }
+}
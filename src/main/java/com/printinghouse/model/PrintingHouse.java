@@ -1,45 +1,78 @@
 package com.printinghouse.model;
 
+import com.printinghouse.event.DomainEvent;
+import com.printinghouse.event.JobPrinted;
+import com.printinghouse.event.PaperAdded;
+import com.printinghouse.event.SaleRecorded;
+import com.printinghouse.jfr.ExpenseCalculationEvent;
+import com.printinghouse.jfr.ReportSaveEvent;
+import com.printinghouse.jfr.SaleEvent;
 import com.printinghouse.model.employee.Employee;
-import com.printinghouse.model.employee.Manager;
+import com.printinghouse.model.employee.EmployeeDirectory;
+import com.printinghouse.model.machine.PrintJobListener;
 import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.SaleOrder;
 import com.printinghouse.model.paper.Paper;
 import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.FileService;
+import com.printinghouse.service.OrderDeduplicator;
 import com.printinghouse.service.PricingService;
+import com.printinghouse.service.SalePricingRules;
+import com.printinghouse.service.SalesLedger;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * The main class representing the entire business.
  * It owns the employees, machines, inventory, and finances.
+ * All state-changing operations are synchronized on the instance, so a house
+ * can be shared between threads (see {@link com.printinghouse.service.AsyncPrintingService}).
  */
 public class PrintingHouse {
     private final String name;
-    private final List<Employee> employees;
+    private final EmployeeDirectory employees;
     private final List<PrintingMachine> machines;
     private final Map<Paper, Integer> paperInventory; // Tracks total stock
     private final Map<Publication, Integer> publicationsSold;
+    private final CostLedger costLedger;
+
+    // Immutable copies handed out by the getters, read without the house lock.
+    // Employees, machines and paper stock are small and change rarely, so each write publishes a fresh copy.
+    // Sales change on every sale, so that copy is instead dropped on write and rebuilt by the next read.
+    private volatile List<Employee> employeesSnapshot; // Rebuilt lazily after the directory changes
+    private volatile List<PrintingMachine> machinesSnapshot = List.of();
+    private volatile Map<Paper, Integer> paperInventorySnapshot = Map.of();
+    private volatile Map<Publication, Integer> publicationsSoldSnapshot;
+
     private final PricingService pricingService;
-    private final PrintingHouseConfig config;
+    private PrintingHouseConfig config;
+    private volatile SalePricingRules pricingRules; // Immutable, so quotes read it without the house lock
+    private SalesLedger salesLedger; // Optional log of every individual sale
+    private OrderDeduplicator orderDeduplicator; // Created on the first sale with an order ID
+    private final List<Consumer<DomainEvent>> eventListeners = new CopyOnWriteArrayList<>();
 
     private BigDecimal totalRevenue;
     private BigDecimal totalExpenses;
+    private long salesEpoch; // Number of sales recorded so far
 
     public PrintingHouse(String name, PricingService pricingService, PrintingHouseConfig config) {
         this.name = name;
         this.pricingService = pricingService;
         this.config = config;
-        this.employees = new ArrayList<>();
+        this.pricingRules = SalePricingRules.fromConfig(config);
+        this.employees = new EmployeeDirectory();
         this.machines = new ArrayList<>();
         this.paperInventory = new HashMap<>();
         this.publicationsSold = new HashMap<>();
+        this.costLedger = new CostLedger();
         this.totalRevenue = BigDecimal.ZERO;
         this.totalExpenses = BigDecimal.ZERO;
     }
@@ -50,119 +83,359 @@ public class PrintingHouse {
      * Calculates the total sale price for a publication, applying discounts if applicable.
      */
     public BigDecimal calculateSalePrice(Publication publication, int copies) {
-        BigDecimal basePricePerCopy = publication.getBasePricePerCopy();
-        BigDecimal finalPricePerCopy = basePricePerCopy;
-
-        if (copies > config.clientDiscountThreshold()) {
-            BigDecimal discount = BigDecimal.ONE.subtract(config.clientDiscountPercentage());
-            finalPricePerCopy = basePricePerCopy.multiply(discount);
-        }
+        return calculateSalePrice(publication, copies, null);
+    }
 
-        return finalPricePerCopy.multiply(BigDecimal.valueOf(copies));
+    /**
+     * Calculates the total sale price for a client, applying the house's pricing rules.
+     * Quotes do not take the house lock, so they never wait behind sales or batches.
+     *
+     * @param clientID The client buying, or null for the standard rates.
+     */
+    public BigDecimal calculateSalePrice(Publication publication, int copies, String clientID) {
+        return pricingRules.totalPrice(publication, copies, clientID);
     }
 
     /**
      * Records a sale, updating revenue and the sales log.
      */
     public void recordSale(Publication publication, int copies) {
-        BigDecimal salePrice = calculateSalePrice(publication, copies);
+        recordSale(publication, copies, null);
+    }
+
+    /**
+     * Records a sale to a specific client, updating revenue and the sales log.
+     */
+    public void recordSale(Publication publication, int copies, String clientID) {
+        // The event starts before the lock is taken, so time spent waiting for it shows up in recordings
+        SaleEvent event = new SaleEvent();
+        event.begin();
+        BigDecimal salePrice = applySale(publication, copies, clientID);
+        event.end();
+        if (event.shouldCommit()) {
+            event.title = publication.getTitle();
+            event.copies = copies;
+            event.clientID = clientID;
+            event.salePrice = salePrice.doubleValue();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a sale that carries an upstream order ID, dropping it if the same ID was already recorded
+     * recently (see {@link OrderDeduplicator}), e.g. because the upstream system retried.
+     *
+     * @return true if the sale was recorded, false if it was a duplicate.
+     */
+    public boolean recordSale(String orderId, Publication publication, int copies, String clientID) {
+        // Checking and recording under one lock ensures two concurrent retries cannot both get through
+        synchronized (this) {
+            if (orderDeduplicator == null) {
+                orderDeduplicator = new OrderDeduplicator();
+            }
+            if (orderDeduplicator.isDuplicate(orderId)) {
+                return false;
+            }
+            recordSale(publication, copies, clientID);
+            // Only marked once the sale went through, so a retry of a sale that failed is not dropped
+            orderDeduplicator.markSeen(orderId);
+        }
+        return true;
+    }
+
+    private synchronized BigDecimal applySale(Publication publication, int copies, String clientID) {
+        BigDecimal pricePerCopy = pricingRules.pricePerCopy(publication, copies, clientID);
+        BigDecimal salePrice = pricePerCopy.multiply(BigDecimal.valueOf(copies));
+        if (salesLedger != null) {
+            // Logged first, so a sale that could not be logged is not counted either.
+            // Unit price in minor units (cents), rounded half-up
+            long unitPriceMinor = pricePerCopy.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            salesLedger.append(publication, copies, unitPriceMinor, System.currentTimeMillis());
+        }
         this.totalRevenue = this.totalRevenue.add(salePrice);
         this.publicationsSold.put(publication, this.publicationsSold.getOrDefault(publication, 0) + copies);
+        this.publicationsSoldSnapshot = null;
+        this.salesEpoch++;
+        this.costLedger.recordSale(publication, salePrice);
+        publish(new SaleRecorded(publication, copies, clientID, salePrice, System.currentTimeMillis()));
+        return salePrice;
     }
 
     /**
-     * Calculates total expenses from salaries and paper costs.
-     * This method updates the totalExpenses property.
+     * Records a batch of sales while holding the house lock once.
+     * Each order is priced individually, exactly as if recordSale had been called for it.
      */
-    public void calculateTotalExpenses() {
-        // 1. Calculate Salary Costs
-        BigDecimal totalSalaries = BigDecimal.ZERO;
-        for (Employee emp : employees) {
-            if (emp instanceof Manager manager) {
-                // Use the manager-specific method with bonus logic
-                totalSalaries = totalSalaries.add(
-                        manager.calculateSalary(this.totalRevenue, config.managerRevenueThreshold())
-                );
-            } else {
-                // Use the standard employee method
-                totalSalaries = totalSalaries.add(emp.calculateSalary());
-            }
+    public synchronized void recordSales(List<SaleOrder> orders) {
+        for (SaleOrder order : orders) {
+            recordSale(order.publication(), order.copies());
         }
+    }
+
+    /**
+     * Prices the paper consumed by a print job on one of the house's machines and records it in the cost ledger.
+     * Machines only run jobs on paper that has a price (see addMachine), so the lookup cannot fail here.
+     */
+    private void onJobPrinted(PrintingMachine machine, Publication publication, int copies, Paper paper, int sheets) {
+        BigDecimal pricePerSheet = pricingService.calculatePaperPrice(paper.paperType(), paper.pageSize());
+        costLedger.recordJob(machine.getMachineID(), publication, sheets, pricePerSheet.multiply(BigDecimal.valueOf(sheets)));
+        publish(new JobPrinted(machine.getMachineID(), publication, copies, paper, sheets, System.currentTimeMillis()));
+    }
 
-        // 2. Calculate Paper Costs (based on current inventory)
-        // Note: A real system would track *consumed* paper. This calculates inventory *value*.
-        BigDecimal totalPaperCosts = BigDecimal.ZERO;
-        for (Map.Entry<Paper, Integer> entry : paperInventory.entrySet()) {
-            Paper paper = entry.getKey();
-            int quantity = entry.getValue();
-            BigDecimal pricePerSheet = pricingService.calculatePaperPrice(paper.paperType(), paper.pageSize());
-            BigDecimal cost = pricePerSheet.multiply(BigDecimal.valueOf(quantity));
-            totalPaperCosts = totalPaperCosts.add(cost);
+    private void publish(DomainEvent event) {
+        for (Consumer<DomainEvent> listener : eventListeners) {
+            listener.accept(event);
         }
+    }
+
+    /**
+     * Calculates total expenses from salaries and paper costs.
+     * This method updates the totalExpenses property.
+     */
+    public synchronized void calculateTotalExpenses() {
+        ExpenseCalculationEvent event = new ExpenseCalculationEvent();
+        event.begin();
+
+        // 1. Salary Costs (the directory keeps running totals, with manager bonuses tracked separately)
+        BigDecimal totalSalaries = employees.payroll(this.totalRevenue, config.managerRevenueThreshold());
+
+        // 2. Paper Costs (based on the sheets actually consumed by print jobs)
+        BigDecimal totalPaperCosts = costLedger.getTotalPaperCost();
 
         this.totalExpenses = totalSalaries.add(totalPaperCosts);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.employees = employees.size();
+            event.totalExpenses = totalExpenses.doubleValue();
+            event.commit();
+        }
+    }
+
+    /**
+     * Captures revenue, up-to-date expenses and sales together as one consistent snapshot.
+     * Only in-memory work happens under the lock; sales may continue as soon as this returns.
+     */
+    public synchronized HouseSnapshot snapshot() {
+        calculateTotalExpenses();
+        return new HouseSnapshot(name, salesEpoch, totalRevenue, totalExpenses, getPublicationsSold());
     }
 
     // --- I/O Methods ---
 
     /**
      * Saves a human-readable financial report to a text file.
+     * The report is written from a snapshot, so sales are not blocked while the file is written.
      */
     public void saveReport(String filename) throws IOException {
-        // Ensure expenses are up-to-date before saving
-        calculateTotalExpenses();
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            writer.write("--- Printing House Financial Report ---");
-            writer.newLine();
-            writer.write("Name: " + this.name);
-            writer.newLine();
-            writer.newLine();
-            writer.write("Total Revenue: " + this.totalRevenue);
-            writer.newLine();
-            writer.write("Total Expenses: " + this.totalExpenses);
-            writer.newLine();
-
-            BigDecimal netProfit = this.totalRevenue.subtract(this.totalExpenses);
-            writer.write("Net Profit: " + netProfit);
-            writer.newLine();
-            writer.newLine();
-            writer.write("--- Publications Sold ---");
-            writer.newLine();
-            if (publicationsSold.isEmpty()) {
-                writer.write("No sales recorded.");
-                writer.newLine();
-            } else {
-                for (Map.Entry<Publication, Integer> entry : publicationsSold.entrySet()) {
-                    writer.write(entry.getKey().getTitle() + " (Copies: " + entry.getValue() + ")");
-                    writer.newLine();
-                }
-            }
+        ReportSaveEvent event = new ReportSaveEvent();
+        event.begin();
+        HouseSnapshot snapshot = snapshot();
+        FileService.saveReport(snapshot, filename);
+        event.end();
+        if (event.shouldCommit()) {
+            event.filename = filename;
+            event.titles = snapshot.publicationsSold().size();
+            event.commit();
         }
     }
 
     // --- Entity Management ---
 
-    public void addEmployee(com.printinghouse.model.employee.Employee employee) {
+    /**
+     * @throws IllegalArgumentException if an employee with the same ID already exists.
+     */
+    public synchronized void addEmployee(com.printinghouse.model.employee.Employee employee) {
         this.employees.add(employee);
+        this.employeesSnapshot = null;
+    }
+
+    /**
+     * Replaces the employee with the same ID.
+     *
+     * @throws IllegalArgumentException if there is no employee with that ID.
+     */
+    public synchronized void updateEmployee(Employee employee) {
+        this.employees.update(employee);
+        this.employeesSnapshot = null;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no employee with that ID.
+     */
+    public synchronized void setEmployeeSalary(String employeeID, BigDecimal baseSalary) {
+        this.employees.setBaseSalary(employeeID, baseSalary);
+    }
+
+    /**
+     * @return The removed employee, or null if there was no employee with that ID.
+     */
+    public synchronized Employee removeEmployee(String employeeID) {
+        Employee removed = this.employees.remove(employeeID);
+        if (removed != null) {
+            this.employeesSnapshot = null;
+        }
+        return removed;
     }
 
-    public void addMachine(PrintingMachine machine) {
+    public synchronized void addMachine(PrintingMachine machine) {
         this.machines.add(machine);
+        this.machinesSnapshot = List.copyOf(machines);
+        machine.addJobListener(new PrintJobListener() {
+            @Override
+            public boolean acceptsJob(PrintingMachine m, Publication publication, int copies, Paper paper) {
+                // Checked before any paper is used, so a job is never printed without its cost being recorded
+                return pricingService.hasBasePrice(paper.paperType());
+            }
+
+            @Override
+            public void onJobPrinted(PrintingMachine m, Publication publication, int copies, Paper paper, int sheets) {
+                PrintingHouse.this.onJobPrinted(m, publication, copies, paper, sheets);
+            }
+        });
     }
 
-    public void addPaperToInventory(com.printinghouse.model.paper.Paper paper, int amount) {
+    public synchronized void addPaperToInventory(com.printinghouse.model.paper.Paper paper, int amount) {
         this.paperInventory.put(paper, this.paperInventory.getOrDefault(paper, 0) + amount);
+        this.paperInventorySnapshot = Map.copyOf(paperInventory);
+        publish(new PaperAdded(paper, amount, System.currentTimeMillis()));
+    }
+
+    /**
+     * Registers a listener for sales, completed print jobs and paper added to inventory.
+     * Listeners run on the thread making the change, while the house or machine lock is held,
+     * so they must be quick and must not throw; hand events off (e.g. to a
+     * {@link com.printinghouse.event.DomainEventPublisher}) for any real work.
+     */
+    public void addEventListener(Consumer<DomainEvent> listener) {
+        this.eventListeners.add(listener);
+    }
+
+    public void removeEventListener(Consumer<DomainEvent> listener) {
+        this.eventListeners.remove(listener);
+    }
+
+    /**
+     * Takes up to {@code amount} sheets of a paper out of the inventory.
+     *
+     * @return The number of sheets actually taken, which is less than requested if stock runs out.
+     */
+    public synchronized int takePaperFromInventory(Paper paper, int amount) {
+        int available = this.paperInventory.getOrDefault(paper, 0);
+        int taken = Math.min(available, amount);
+        if (taken > 0) {
+            if (taken == available) {
+                this.paperInventory.remove(paper);
+            } else {
+                this.paperInventory.put(paper, available - taken);
+            }
+            this.paperInventorySnapshot = Map.copyOf(paperInventory);
+        }
+        return taken;
+    }
+
+    /**
+     * Replaces the config. The sale pricing rules are rebuilt from the new discount threshold,
+     * replacing any rules set with setPricingRules.
+     */
+    public synchronized void setConfig(PrintingHouseConfig config) {
+        this.config = config;
+        this.pricingRules = SalePricingRules.fromConfig(config);
+    }
+
+    /**
+     * Replaces the sale pricing rules. By default they are derived from the config's single discount threshold.
+     */
+    public synchronized void setPricingRules(SalePricingRules pricingRules) {
+        this.pricingRules = pricingRules;
+    }
+
+    /**
+     * Replaces the deduplicator used by sales with an order ID, e.g. to change its window or memory budget.
+     */
+    public synchronized void setOrderDeduplicator(OrderDeduplicator orderDeduplicator) {
+        this.orderDeduplicator = orderDeduplicator;
+    }
+
+    /**
+     * Attaches a ledger that every subsequent sale is appended to. Pass null to stop logging sales.
+     */
+    public synchronized void setSalesLedger(SalesLedger salesLedger) {
+        this.salesLedger = salesLedger;
     }
 
     // Getters
     public String getName() { return name; }
-    public java.util.List<com.printinghouse.model.employee.Employee> getEmployees() { return java.util.List.copyOf(employees); }
-    public java.util.List<PrintingMachine> getMachines() { return java.util.List.copyOf(machines); }
-    public java.util.Map<com.printinghouse.model.paper.Paper, Integer> getPaperInventory() { return java.util.Map.copyOf(paperInventory); }
-    public java.util.Map<com.printinghouse.model.publication.Publication, Integer> getPublicationsSold() { return java.util.Map.copyOf(publicationsSold); }
-    public BigDecimal getTotalRevenue() { return totalRevenue; }
-    public BigDecimal getTotalExpenses() { return totalExpenses; }
-    public PrintingHouseConfig getConfig() { return config; }
+
+    /**
+     * Returns an immutable snapshot of the employees.
+     * If the roster has not changed since the last call, the same instance is returned without copying or locking.
+     * Otherwise it is copied once under the house lock, so building a large roster does not copy it on every add.
+     */
+    public List<Employee> getEmployees() {
+        List<Employee> snapshot = employeesSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (employeesSnapshot == null) {
+                employeesSnapshot = employees.getAll();
+            }
+            return employeesSnapshot;
+        }
+    }
+
+    /**
+     * Returns the employee with the given ID, or null if there is none.
+     */
+    public Employee findEmployee(String employeeID) {
+        return employees.find(employeeID);
+    }
+
+    /**
+     * Returns the employees of one role, e.g. {@code Manager.class}.
+     */
+    public <T extends Employee> List<T> getEmployeesByRole(Class<T> role) {
+        return employees.getByRole(role);
+    }
+
+    /**
+     * Returns an immutable snapshot of the machines, without copying or locking.
+     */
+    public List<PrintingMachine> getMachines() {
+        return machinesSnapshot;
+    }
+
+    /**
+     * Returns an immutable snapshot of the paper stock, without copying or locking.
+     */
+    public Map<Paper, Integer> getPaperInventory() {
+        return paperInventorySnapshot;
+    }
+
+    /**
+     * Returns an immutable snapshot of copies sold per publication.
+     * If no sale has happened since the last call, the same instance is returned without copying or locking.
+     * Otherwise the map is copied under the house lock, which costs O(titles): the copy is only amortized while
+     * reads outnumber sales, and under continuous sales most reads pay for it. Copying on every sale instead
+     * would put that cost on the sales path.
+     */
+    public Map<Publication, Integer> getPublicationsSold() {
+        Map<Publication, Integer> snapshot = publicationsSoldSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (publicationsSoldSnapshot == null) {
+                publicationsSoldSnapshot = Map.copyOf(publicationsSold);
+            }
+            return publicationsSoldSnapshot;
+        }
+    }
+
+    public synchronized BigDecimal getTotalRevenue() { return totalRevenue; }
+    public synchronized BigDecimal getTotalExpenses() { return totalExpenses; }
+    public CostLedger getCostLedger() { return costLedger; }
+    public synchronized PrintingHouseConfig getConfig() { return config; }
+    public SalePricingRules getPricingRules() { return pricingRules; }
     public com.printinghouse.service.PricingService getPricingService() { return pricingService; }
 }
@@ -41,6 +41,13 @@ public abstract class Employee implements Serializable {
         return baseSalary;
     }
 
+    /**
+     * Only {@link EmployeeDirectory} changes salaries, so it can keep its payroll totals in step.
+     */
+    void setBaseSalary(BigDecimal baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+
     @Override
     public String toString() {
         return String.format("Employee[ID=%s, Name=%s, BaseSalary=%.2f]", employeeID, name, baseSalary);
@@ -0,0 +1,147 @@
+package com.printinghouse.model.employee;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The employees of a printing house, indexed by employee ID and by role (the employee's class).
+ * Payroll totals are adjusted as employees are added, changed or removed,
+ * so lookups, updates and payroll queries cost the same for ten employees or ten million.
+ * Employees are kept in the order they were added.
+ */
+public class EmployeeDirectory {
+    private final Map<String, Employee> byId = new LinkedHashMap<>();
+    private final Map<Class<? extends Employee>, Map<String, Employee>> byRole = new HashMap<>();
+
+    // Payroll totals. Managers are split into base and bonus since the bonus depends on revenue.
+    private BigDecimal otherSalaries = BigDecimal.ZERO;
+    private BigDecimal managerBaseSalaries = BigDecimal.ZERO;
+    private BigDecimal managerBonuses = BigDecimal.ZERO;
+
+    /**
+     * Adds an employee.
+     *
+     * @throws IllegalArgumentException if an employee with the same ID already exists.
+     */
+    public synchronized void add(Employee employee) {
+        if (byId.containsKey(employee.getEmployeeID())) {
+            throw new IllegalArgumentException("Duplicate employee ID: " + employee.getEmployeeID());
+        }
+        insert(employee);
+    }
+
+    /**
+     * Replaces the employee with the same ID, e.g. to promote an operator to manager.
+     *
+     * @return The employee that was replaced.
+     * @throws IllegalArgumentException if there is no employee with that ID.
+     */
+    public synchronized Employee update(Employee employee) {
+        Employee previous = byId.get(employee.getEmployeeID());
+        if (previous == null) {
+            throw new IllegalArgumentException("Unknown employee ID: " + employee.getEmployeeID());
+        }
+        removeFromRole(previous);
+        adjustPayroll(previous, false);
+        insert(employee); // Replacing the key keeps the employee's position in byId
+        return previous;
+    }
+
+    /**
+     * Changes an employee's base salary.
+     *
+     * @throws IllegalArgumentException if there is no employee with that ID.
+     */
+    public synchronized void setBaseSalary(String employeeID, BigDecimal baseSalary) {
+        Employee employee = byId.get(employeeID);
+        if (employee == null) {
+            throw new IllegalArgumentException("Unknown employee ID: " + employeeID);
+        }
+        adjustPayroll(employee, false);
+        employee.setBaseSalary(baseSalary);
+        adjustPayroll(employee, true);
+    }
+
+    /**
+     * Removes an employee.
+     *
+     * @return The removed employee, or null if there was no employee with that ID.
+     */
+    public synchronized Employee remove(String employeeID) {
+        Employee employee = byId.remove(employeeID);
+        if (employee != null) {
+            removeFromRole(employee);
+            adjustPayroll(employee, false);
+        }
+        return employee;
+    }
+
+    /**
+     * Returns the employee with the given ID, or null if there is none.
+     */
+    public synchronized Employee find(String employeeID) {
+        return byId.get(employeeID);
+    }
+
+    /**
+     * Returns the employees whose class is exactly {@code role}, in the order they were added.
+     */
+    public synchronized <T extends Employee> List<T> getByRole(Class<T> role) {
+        Map<String, Employee> members = byRole.getOrDefault(role, Map.of());
+        List<T> result = new ArrayList<>(members.size());
+        for (Employee employee : members.values()) {
+            result.add(role.cast(employee));
+        }
+        return result;
+    }
+
+    public synchronized List<Employee> getAll() {
+        return List.copyOf(byId.values());
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Returns the total salaries, with manager bonuses included only if revenue exceeds the threshold
+     * (see {@link Manager#calculateSalary(BigDecimal, BigDecimal)}).
+     */
+    public synchronized BigDecimal payroll(BigDecimal currentRevenue, BigDecimal revenueThreshold) {
+        BigDecimal total = otherSalaries.add(managerBaseSalaries);
+        if (currentRevenue.compareTo(revenueThreshold) > 0) {
+            total = total.add(managerBonuses);
+        }
+        return total;
+    }
+
+    private void insert(Employee employee) {
+        byId.put(employee.getEmployeeID(), employee);
+        byRole.computeIfAbsent(employee.getClass(), c -> new LinkedHashMap<>()).put(employee.getEmployeeID(), employee);
+        adjustPayroll(employee, true);
+    }
+
+    private void removeFromRole(Employee employee) {
+        Map<String, Employee> role = byRole.get(employee.getClass());
+        role.remove(employee.getEmployeeID());
+        if (role.isEmpty()) {
+            byRole.remove(employee.getClass());
+        }
+    }
+
+    private void adjustPayroll(Employee employee, boolean add) {
+        if (employee instanceof Manager manager) {
+            BigDecimal bonus = manager.getBaseSalary().multiply(manager.getBonusPercentage());
+            managerBaseSalaries = add ? managerBaseSalaries.add(manager.getBaseSalary())
+                    : managerBaseSalaries.subtract(manager.getBaseSalary());
+            managerBonuses = add ? managerBonuses.add(bonus) : managerBonuses.subtract(bonus);
+        } else {
+            BigDecimal salary = employee.calculateSalary();
+            otherSalaries = add ? otherSalaries.add(salary) : otherSalaries.subtract(salary);
+        }
+    }
+}
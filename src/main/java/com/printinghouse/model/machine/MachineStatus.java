@@ -0,0 +1,46 @@
+package com.printinghouse.model.machine;
+
+/**
+ * The outcome of {@link PrintingMachine#tryPrint} or {@link PrintingMachine#tryLoad}.
+ * Those methods return a primitive {@code long} packing the status together with a sheet shortfall,
+ * read back with {@link #of(long)} and {@link #shortfall(long)}, so that rejections allocate nothing
+ * and the shortfall always belongs to the same call as the status.
+ */
+public enum MachineStatus {
+    OK,
+    /** Color was requested on a black and white machine. */
+    COLOR_NOT_SUPPORTED,
+    /** No paper has been loaded yet. */
+    NO_PAPER_LOADED,
+    /** The publication's page size differs from the loaded paper's. */
+    WRONG_PAPER_SIZE,
+    /** The job needs more sheets than are loaded; the shortfall is how many more sheets the job needs. */
+    NOT_ENOUGH_PAPER,
+    /** A job listener refused the job, e.g. the house has no price for the loaded paper. */
+    JOB_REFUSED,
+    /** A different type or size of paper is already loaded. */
+    PAPER_MISMATCH,
+    /** The load would exceed the paper capacity; the shortfall is how many sheets did not fit. */
+    CAPACITY_EXCEEDED;
+
+    private static final MachineStatus[] VALUES = values();
+    private static final int STATUS_BITS = 8;
+
+    static long pack(MachineStatus status, long shortfall) {
+        return shortfall << STATUS_BITS | status.ordinal();
+    }
+
+    /**
+     * Returns the status part of a tryPrint or tryLoad result.
+     */
+    public static MachineStatus of(long result) {
+        return VALUES[(int) (result & ((1 << STATUS_BITS) - 1))];
+    }
+
+    /**
+     * Returns the sheets missing (or, for CAPACITY_EXCEEDED, not fitting) in a tryPrint or tryLoad result; 0 otherwise.
+     */
+    public static long shortfall(long result) {
+        return result >>> STATUS_BITS;
+    }
+}
@@ -0,0 +1,21 @@
+package com.printinghouse.model.machine;
+
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+
+/**
+ * Notified by a PrintingMachine after each successful print job.
+ * Called while the machine is locked, so implementations should be quick and must not call back into the machine.
+ */
+@FunctionalInterface
+public interface PrintJobListener {
+    void onJobPrinted(PrintingMachine machine, Publication publication, int copies, Paper paper, int sheets);
+
+    /**
+     * Called before a job uses any paper. Returning false rejects the job with {@link MachineStatus#JOB_REFUSED},
+     * e.g. because the listener could not account for it afterwards. Accepts every job by default.
+     */
+    default boolean acceptsJob(PrintingMachine machine, Publication publication, int copies, Paper paper) {
+        return true;
+    }
+}
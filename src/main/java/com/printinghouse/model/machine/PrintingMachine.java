@@ -3,21 +3,32 @@ package com.printinghouse.model.machine;
 import com.printinghouse.exception.InvalidPrintRequestException;
 import com.printinghouse.exception.MachineCapacityExceededException;
 import com.printinghouse.exception.NotEnoughPaperException;
+import com.printinghouse.jfr.PaperLoadEvent;
+import com.printinghouse.jfr.PrintJobEvent;
 import com.printinghouse.model.paper.Paper;
 import com.printinghouse.model.publication.Publication;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * A single printing machine with its own paper tray.
+ * Jobs and paper loads on one machine are serialized by synchronizing on the machine,
+ * while different machines can work in parallel.
+ */
 public class PrintingMachine {
     private final String machineID;
     private final boolean isColor;
-       private final int pagesPerMinute;
+    private final int pagesPerMinute;
     private final int maxPaperCapacity;
 
     private int currentPaperLoad;
     private Paper loadedPaper; // Describes the type and size loaded
     private final Map<Publication, Integer> printedJobs;
+    private final List<PrintJobListener> jobListeners;
+    private Map<Publication, Integer> printedJobsSnapshot; // Rebuilt lazily after printedJobs changes
 
     public PrintingMachine(String machineID, boolean isColor, int pagesPerMinute, int maxPaperCapacity) {
         this.machineID = machineID;
@@ -27,71 +38,160 @@ public class PrintingMachine {
         this.currentPaperLoad = 0;
         this.loadedPaper = null;
         this.printedJobs = new HashMap<>();
+        this.jobListeners = new CopyOnWriteArrayList<>();
     }
 
     /**
-     * Loads paper into the machine.
+     * Tries to load paper into the machine without throwing. Rejections allocate nothing.
      *
      * @param paper  The type and size of paper to load.
      * @param amount The number of sheets.
-     * @throws MachineCapacityExceededException if amount exceeds capacity.
-     * @throws InvalidPrintRequestException     if wrong paper type is loaded.
+     * @return The packed result: {@link MachineStatus#of} gives OK, PAPER_MISMATCH or CAPACITY_EXCEEDED,
+     *         and on CAPACITY_EXCEEDED {@link MachineStatus#shortfall} gives how many sheets did not fit.
      */
-    public void loadPaper(Paper paper, int amount) throws MachineCapacityExceededException, InvalidPrintRequestException {
+    public synchronized long tryLoad(Paper paper, int amount) {
+        PaperLoadEvent event = new PaperLoadEvent();
+        event.begin();
+        long result = load(paper, amount);
+        event.end();
+        if (event.shouldCommit()) {
+            event.machineID = machineID;
+            event.paper = String.valueOf(paper);
+            event.sheets = amount;
+            event.status = MachineStatus.of(result).name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private long load(Paper paper, int amount) {
         if (this.loadedPaper != null && !this.loadedPaper.equals(paper)) {
-            throw new InvalidPrintRequestException("Cannot load " + paper + ". Machine is already loaded with " + this.loadedPaper);
+            return MachineStatus.pack(MachineStatus.PAPER_MISMATCH, 0);
         }
 
-        if (this.currentPaperLoad + amount > this.maxPaperCapacity) {
-            throw new MachineCapacityExceededException("Cannot load " + amount + " sheets. " +
-                    "Max capacity is " + maxPaperCapacity + ", current load is " + currentPaperLoad);
+        long newLoad = (long) this.currentPaperLoad + amount;
+        if (newLoad > this.maxPaperCapacity) {
+            return MachineStatus.pack(MachineStatus.CAPACITY_EXCEEDED, newLoad - this.maxPaperCapacity);
         }
 
         this.loadedPaper = paper;
-        this.currentPaperLoad += amount;
+        this.currentPaperLoad = (int) newLoad;
+        return MachineStatus.pack(MachineStatus.OK, 0);
     }
 
     /**
-     * Prints a given number of copies of a publication.
+     * Loads paper into the machine.
+     *
+     * @param paper  The type and size of paper to load.
+     * @param amount The number of sheets.
+     * @throws MachineCapacityExceededException if amount exceeds capacity.
+     * @throws InvalidPrintRequestException     if wrong paper type is loaded.
+     */
+    public synchronized void loadPaper(Paper paper, int amount) throws MachineCapacityExceededException, InvalidPrintRequestException {
+        switch (MachineStatus.of(tryLoad(paper, amount))) {
+            case OK -> { }
+            case PAPER_MISMATCH -> throw new InvalidPrintRequestException("Cannot load " + paper + ". Machine is already loaded with " + this.loadedPaper);
+            default -> throw new MachineCapacityExceededException("Cannot load " + amount + " sheets. " +
+                    "Max capacity is " + maxPaperCapacity + ", current load is " + currentPaperLoad);
+        }
+    }
+
+    /**
+     * Tries to print a given number of copies of a publication without throwing. Rejections allocate nothing.
      *
      * @param publication The publication to print.
      * @param copies      The number of copies.
      * @param useColor    Whether the job requires color.
-     * @throws InvalidPrintRequestException if color is requested on B/W machine or paper size mismatch.
-     * @throws NotEnoughPaperException      if not enough paper is loaded.
+     * @return The packed result: {@link MachineStatus#of} gives OK or the reason the job was rejected,
+     *         and on NOT_ENOUGH_PAPER or NO_PAPER_LOADED {@link MachineStatus#shortfall} gives how many more sheets
+     *         the job needs.
      */
-    public void printPublication(Publication publication, int copies, boolean useColor)
-            throws InvalidPrintRequestException, NotEnoughPaperException {
+    public synchronized long tryPrint(Publication publication, int copies, boolean useColor) {
+        PrintJobEvent event = new PrintJobEvent();
+        event.begin();
+        long result = print(publication, copies, useColor);
+        event.end();
+        if (event.shouldCommit()) {
+            event.machineID = machineID;
+            event.title = publication.getTitle();
+            event.copies = copies;
+            event.sheets = (long) publication.getPageCount() * copies;
+            event.useColor = useColor;
+            event.status = MachineStatus.of(result).name();
+            event.commit();
+        }
+        return result;
+    }
 
+    private long print(Publication publication, int copies, boolean useColor) {
         if (useColor && !this.isColor) {
-            throw new InvalidPrintRequestException("Machine " + machineID + " is black and white. Cannot print in color.");
+            return MachineStatus.pack(MachineStatus.COLOR_NOT_SUPPORTED, 0);
         }
 
+        long sheetsNeeded = (long) publication.getPageCount() * copies;
         if (this.loadedPaper == null) {
-            throw new NotEnoughPaperException("No paper is loaded in machine " + machineID);
+            return MachineStatus.pack(MachineStatus.NO_PAPER_LOADED, sheetsNeeded);
         }
 
         if (publication.getPageSize() != this.loadedPaper.pageSize()) {
-            throw new InvalidPrintRequestException("Wrong paper size. Publication requires " +
-                    publication.getPageSize() + ", but machine is loaded with " + this.loadedPaper.pageSize());
+            return MachineStatus.pack(MachineStatus.WRONG_PAPER_SIZE, 0);
         }
 
-        int sheetsNeeded = publication.getPageCount() * copies;
         if (sheetsNeeded > this.currentPaperLoad) {
-            throw new NotEnoughPaperException("Not enough paper. Job requires " + sheetsNeeded +
-                    " sheets, but only " + this.currentPaperLoad + " are available.");
+            return MachineStatus.pack(MachineStatus.NOT_ENOUGH_PAPER, sheetsNeeded - this.currentPaperLoad);
+        }
+
+        for (PrintJobListener listener : jobListeners) {
+            if (!listener.acceptsJob(this, publication, copies, this.loadedPaper)) {
+                return MachineStatus.pack(MachineStatus.JOB_REFUSED, 0);
+            }
         }
 
         // Simulate printing
-        this.currentPaperLoad -= sheetsNeeded;
-        this.printedJobs.put(publication, this.printedJobs.getOrDefault(publication, 0) + copies);
-        System.out.println("Machine " + machineID + ": Successfully printed " + copies + " copies of '" + publication.getTitle() + "'.");
+        int sheets = (int) sheetsNeeded;
+        this.currentPaperLoad -= sheets;
+        this.printedJobs.merge(publication, copies, Integer::sum);
+        this.printedJobsSnapshot = null;
+        for (PrintJobListener listener : jobListeners) {
+            try {
+                listener.onJobPrinted(this, publication, copies, this.loadedPaper, sheets);
+            } catch (RuntimeException e) {
+                // The job has already happened, so a failing listener must not make it look rejected
+                System.err.println("Machine " + machineID + ": job listener failed: " + e);
+            }
+        }
+        return MachineStatus.pack(MachineStatus.OK, 0);
+    }
+
+    /**
+     * Prints a given number of copies of a publication.
+     *
+     * @param publication The publication to print.
+     * @param copies      The number of copies.
+     * @param useColor    Whether the job requires color.
+     * @throws InvalidPrintRequestException if color is requested on B/W machine or paper size mismatch.
+     * @throws NotEnoughPaperException      if not enough paper is loaded.
+     */
+    public synchronized void printPublication(Publication publication, int copies, boolean useColor)
+            throws InvalidPrintRequestException, NotEnoughPaperException {
+        long result = tryPrint(publication, copies, useColor);
+        switch (MachineStatus.of(result)) {
+            case OK -> System.out.println("Machine " + machineID + ": Successfully printed " + copies + " copies of '" + publication.getTitle() + "'.");
+            case COLOR_NOT_SUPPORTED -> throw new InvalidPrintRequestException("Machine " + machineID + " is black and white. Cannot print in color.");
+            case NO_PAPER_LOADED -> throw new NotEnoughPaperException("No paper is loaded in machine " + machineID);
+            case WRONG_PAPER_SIZE -> throw new InvalidPrintRequestException("Wrong paper size. Publication requires " +
+                    publication.getPageSize() + ", but machine is loaded with " + this.loadedPaper.pageSize());
+            case JOB_REFUSED -> throw new InvalidPrintRequestException("Machine " + machineID + " refused to print on " +
+                    this.loadedPaper + ". Is a price set for that paper?");
+            default -> throw new NotEnoughPaperException("Not enough paper. Job requires " + (currentPaperLoad + MachineStatus.shortfall(result)) +
+                    " sheets, but only " + this.currentPaperLoad + " are available.");
+        }
     }
 
     /**
      * Calculates the total number of individual pages (sheets) printed by this machine.
      */
-    public long getTotalPagesPrinted() {
+    public synchronized long getTotalPagesPrinted() {
         long total = 0;
         for (Map.Entry<Publication, Integer> entry : printedJobs.entrySet()) {
             long pagesPerCopy = entry.getKey().getPageCount();
@@ -101,10 +201,32 @@ public class PrintingMachine {
         return total;
     }
 
+    /**
+     * Registers a listener to be told about every successful print job.
+     */
+    public void addJobListener(PrintJobListener listener) {
+        this.jobListeners.add(listener);
+    }
+
+    public void removeJobListener(PrintJobListener listener) {
+        this.jobListeners.remove(listener);
+    }
+
     // Getters
     public String getMachineID() { return machineID; }
     public boolean isColor() { return isColor; }
-    public int getCurrentPaperLoad() { return currentPaperLoad; }
-    public Paper getLoadedPaper() { return loadedPaper; }
-    public Map<Publication, Integer> getPrintedJobs() { return Map.copyOf(printedJobs); }
+    public int getPagesPerMinute() { return pagesPerMinute; }
+    public int getMaxPaperCapacity() { return maxPaperCapacity; }
+    public synchronized int getCurrentPaperLoad() { return currentPaperLoad; }
+    public synchronized Paper getLoadedPaper() { return loadedPaper; }
+
+    /**
+     * Returns an immutable snapshot of copies printed per publication. Unchanged state returns the same instance without copying.
+     */
+    public synchronized Map<Publication, Integer> getPrintedJobs() {
+        if (printedJobsSnapshot == null) {
+            printedJobsSnapshot = Map.copyOf(printedJobs);
+        }
+        return printedJobsSnapshot;
+    }
 }
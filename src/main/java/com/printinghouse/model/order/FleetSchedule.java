@@ -0,0 +1,18 @@
+package com.printinghouse.model.order;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An assignment of print jobs to machines.
+ *
+ * @param assignments     The jobs for each machine, keyed by machine ID.
+ * @param makespanMinutes The time until the busiest machine finishes.
+ * @param unassignable    Jobs no machine can print (color, paper size or paper capacity constraints).
+ */
+public record FleetSchedule(
+        Map<String, List<PrintJob>> assignments,
+        double makespanMinutes,
+        List<PrintJob> unassignable
+) {
+}
@@ -0,0 +1,16 @@
+package com.printinghouse.model.order;
+
+import com.printinghouse.model.publication.Publication;
+
+/**
+ * A print job that has not been assigned to a machine yet.
+ */
+public record PrintJob(Publication publication, int copies, boolean useColor) {
+
+    /**
+     * Returns the number of sheets the job consumes.
+     */
+    public long sheets() {
+        return (long) publication.getPageCount() * copies;
+    }
+}
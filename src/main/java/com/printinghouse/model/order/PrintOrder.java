@@ -0,0 +1,9 @@
+package com.printinghouse.model.order;
+
+import com.printinghouse.model.publication.Publication;
+
+/**
+ * A request to print a number of copies of a publication on a specific machine.
+ */
+public record PrintOrder(String machineID, Publication publication, int copies, boolean useColor) {
+}
@@ -0,0 +1,9 @@
+package com.printinghouse.model.order;
+
+import com.printinghouse.model.publication.Publication;
+
+/**
+ * A request to sell a number of copies of a publication.
+ */
+public record SaleOrder(Publication publication, int copies) {
+}
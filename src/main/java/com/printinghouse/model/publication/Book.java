@@ -7,4 +7,9 @@ public class Book extends Publication {
     public Book(String title, int pageCount, PageSize pageSize, BigDecimal basePricePerCopy) {
         super(title, pageCount, pageSize, basePricePerCopy);
     }
+
+    @Override
+    public PublicationType getType() {
+        return PublicationType.BOOK;
+    }
 }
@@ -6,4 +6,9 @@ public class Newspaper extends Publication {
     public Newspaper(String title, int pageCount, PageSize pageSize, BigDecimal basePricePerCopy) {
         super(title, pageCount, pageSize, basePricePerCopy);
     }
+
+    @Override
+    public PublicationType getType() {
+        return PublicationType.NEWSPAPER;
+    }
 }
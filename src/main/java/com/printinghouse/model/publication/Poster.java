@@ -7,4 +7,9 @@ public class Poster extends Publication {
         // A poster is typically one page
         super(title, 1, pageSize, basePricePerCopy);
     }
+
+    @Override
+    public PublicationType getType() {
+        return PublicationType.POSTER;
+    }
 }
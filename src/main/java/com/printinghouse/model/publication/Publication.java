@@ -20,6 +20,11 @@ public abstract class Publication {
         this.basePricePerCopy = basePricePerCopy;
     }
 
+    /**
+     * Returns the kind of publication, used for per-type pricing rules.
+     */
+    public abstract PublicationType getType();
+
     // Getters
     public String getTitle() {
         return title;
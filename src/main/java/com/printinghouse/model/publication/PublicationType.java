@@ -0,0 +1,11 @@
+package com.printinghouse.model.publication;
+
+/**
+ * The kinds of publication the house prints.
+ * Used for per-type pricing rules.
+ */
+public enum PublicationType {
+    BOOK,
+    NEWSPAPER,
+    POSTER
+}
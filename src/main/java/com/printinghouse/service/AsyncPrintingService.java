@@ -0,0 +1,122 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.publication.Publication;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous facade over a PrintingHouse and its machines.
+ * Every operation runs on the executor and returns a CompletableFuture;
+ * checked business exceptions (e.g. NotEnoughPaperException) complete the future exceptionally.
+ * Print jobs for the same machine are chained one after another, in submission order, so a long queue
+ * for one machine waits as pending futures instead of as threads blocked on the machine's lock.
+ */
+public class AsyncPrintingService implements AutoCloseable {
+    private final PrintingHouse house;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Map<PrintingMachine, CompletableFuture<Void>> machineQueues = new HashMap<>(); // Last job per machine
+
+    /**
+     * Creates a service backed by its own fixed pool of one thread per processor, which is shut down by {@link #close()}.
+     */
+    public AsyncPrintingService(PrintingHouse house) {
+        this(house, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    /**
+     * Creates a service backed by a caller-supplied executor, which the caller remains responsible for.
+     */
+    public AsyncPrintingService(PrintingHouse house, ExecutorService executor) {
+        this(house, executor, false);
+    }
+
+    private AsyncPrintingService(PrintingHouse house, ExecutorService executor, boolean ownsExecutor) {
+        this.house = house;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Prints a publication on the given machine once every job submitted earlier for that machine has finished,
+     * whether or not those jobs succeeded.
+     */
+    public CompletableFuture<Void> submitPrint(PrintingMachine machine, Publication publication, int copies, boolean useColor) {
+        synchronized (machineQueues) {
+            CompletableFuture<Void> previous = machineQueues.getOrDefault(machine, CompletableFuture.completedFuture(null));
+            CompletableFuture<Void> job = previous
+                    .handle((result, failure) -> null) // An earlier job's failure does not stop the queue
+                    .thenCompose(ignored -> submit(() -> {
+                        machine.printPublication(publication, copies, useColor);
+                        return null;
+                    }));
+            machineQueues.put(machine, job);
+            job.whenComplete((result, failure) -> {
+                synchronized (machineQueues) {
+                    machineQueues.remove(machine, job); // Forget idle machines
+                }
+            });
+            return job;
+        }
+    }
+
+    /**
+     * Records a sale in the house.
+     */
+    public CompletableFuture<Void> recordSaleAsync(Publication publication, int copies) {
+        return submit(() -> {
+            house.recordSale(publication, copies);
+            return null;
+        });
+    }
+
+    /**
+     * Saves the house's financial report to a text file.
+     */
+    public CompletableFuture<Void> saveReportAsync(String filename) {
+        return submit(() -> {
+            house.saveReport(filename);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Stops accepting new work. Already submitted operations still complete.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    public PrintingHouse getHouse() { return house; }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T call() throws Exception;
+    }
+}
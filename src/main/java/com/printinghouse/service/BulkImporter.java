@@ -0,0 +1,280 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.ImportResult;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.PrintOrder;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.publication.Publication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Loads publication catalogues and order backlogs from large CSV files (formats as in {@link OrderParser},
+ * catalogue rows being {@code type,title,pageCount,pageSize,basePricePerCopy}).
+ * <p>
+ * The file is split into chunks on line boundaries, each chunk is memory-mapped and parsed on the common
+ * fork-join pool, and each chunk's rows are applied to the house, in file order, as soon as it is parsed.
+ * Publications are interned so that repeated rows share one instance.
+ * Malformed or rejected rows are reported in the {@link ImportResult} and do not abort the run.
+ */
+public class BulkImporter {
+    private static final long MIN_CHUNK_BYTES = 1L << 20;  // 1 MiB
+    private static final long MAX_CHUNK_BYTES = 64L << 20; // 64 MiB, well below the 2 GiB mapping limit
+    private static final int APPLY_BATCH_SIZE = 10_000;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final PrintingHouse house;
+    private final ConcurrentHashMap<PublicationKey, Publication> catalogue = new ConcurrentHashMap<>();
+
+    public BulkImporter(PrintingHouse house) {
+        this.house = house;
+    }
+
+    /**
+     * Imports publication rows into the catalogue without touching the house.
+     */
+    public ImportResult importCatalogue(Path file) throws IOException {
+        return importFile(file, fields -> {
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Expected 5 fields but found " + fields.length);
+            }
+            return intern(OrderParser.parsePublication(fields[0], fields[1], fields[2], fields[3], fields[4]));
+        }, (rows, rejected) -> rows.size());
+    }
+
+    /**
+     * Imports sale rows and records them in the house.
+     */
+    public ImportResult importSales(Path file) throws IOException {
+        return importFile(file, fields -> {
+            SaleOrder order = OrderParser.parseSale(fields);
+            return new SaleOrder(intern(order.publication()), order.copies());
+        }, (rows, rejected) -> {
+            List<SaleOrder> batch = new ArrayList<>(Math.min(rows.size(), APPLY_BATCH_SIZE));
+            for (Row<SaleOrder> row : rows) {
+                batch.add(row.value);
+                if (batch.size() == APPLY_BATCH_SIZE) {
+                    house.recordSales(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                house.recordSales(batch);
+            }
+            return rows.size();
+        });
+    }
+
+    /**
+     * Imports print rows and runs them on the house's machines in file order.
+     * Each job only locks its machine, so sales and other machines are not held up by the import.
+     * Jobs that the machine rejects (unknown machine, wrong paper, not enough paper) are reported as errors.
+     */
+    public ImportResult importPrints(Path file) throws IOException {
+        Map<String, PrintingMachine> machines = new HashMap<>();
+        for (PrintingMachine machine : house.getMachines()) {
+            machines.put(machine.getMachineID(), machine);
+        }
+
+        return importFile(file, fields -> {
+            PrintOrder order = OrderParser.parsePrint(fields);
+            return new PrintOrder(order.machineID(), intern(order.publication()), order.copies(), order.useColor());
+        }, (rows, rejected) -> {
+            long applied = 0;
+            for (Row<PrintOrder> row : rows) {
+                PrintOrder order = row.value;
+                PrintingMachine machine = machines.get(order.machineID());
+                if (machine == null) {
+                    rejected.add(new ImportResult.RowError(row.line, "Unknown machine " + order.machineID()));
+                    continue;
+                }
+                MachineStatus status = MachineStatus.of(machine.tryPrint(order.publication(), order.copies(), order.useColor()));
+                if (status == MachineStatus.OK) {
+                    applied++;
+                } else {
+                    rejected.add(new ImportResult.RowError(row.line,
+                            "Machine " + order.machineID() + " rejected the job: " + status));
+                }
+            }
+            return applied;
+        });
+    }
+
+    /**
+     * Returns the canonical instance of a publication, registering it if it is new.
+     * Publications are matched on type, title, page count, page size and price, so rows that only differ
+     * in price stay distinct.
+     */
+    public Publication intern(Publication publication) {
+        Publication existing = catalogue.putIfAbsent(PublicationKey.of(publication), publication);
+        return existing == null ? publication : existing;
+    }
+
+    public Collection<Publication> getCatalogue() {
+        return List.copyOf(catalogue.values());
+    }
+
+    // --- Parsing ---
+
+    /**
+     * Parses the file's chunks in parallel and hands each chunk's rows to the applier in file order as soon as
+     * the chunk is parsed. Only a bounded number of chunks are parsed ahead, so memory does not grow with the file.
+     */
+    private <T> ImportResult importFile(Path file, Function<String[], T> rowParser, ChunkApplier<T> applier)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            int window = ForkJoinPool.getCommonPoolParallelism() + 1;
+            ArrayDeque<CompletableFuture<ChunkResult<T>>> inFlight = new ArrayDeque<>();
+            int next = 0;
+
+            long rowsRead = 0;
+            long applied = 0;
+            long errorCount = 0;
+            List<ImportResult.RowError> reported = new ArrayList<>();
+            long lineOffset = 0;
+            while (next < chunks.size() || !inFlight.isEmpty()) {
+                while (next < chunks.size() && inFlight.size() < window) {
+                    long[] chunk = chunks.get(next++);
+                    inFlight.add(CompletableFuture.supplyAsync(() -> parseChunk(channel, chunk[0], chunk[1], rowParser)));
+                }
+                ChunkResult<T> result = inFlight.poll().join();
+                if (result.failure != null) {
+                    throw result.failure;
+                }
+
+                // Turn chunk-local line numbers into global ones
+                List<Row<T>> rows = new ArrayList<>(result.rows.size());
+                for (Row<T> row : result.rows) {
+                    rows.add(new Row<>(row.line + lineOffset, row.value));
+                }
+                List<ImportResult.RowError> errors = new ArrayList<>();
+                for (ImportResult.RowError error : result.errors) {
+                    errors.add(new ImportResult.RowError(error.line() + lineOffset, error.message()));
+                }
+                applied += applier.apply(rows, errors);
+
+                rowsRead += result.rows.size() + result.errors.size();
+                errorCount += errors.size();
+                if (reported.size() < MAX_REPORTED_ERRORS) {
+                    errors.sort(Comparator.comparingLong(ImportResult.RowError::line));
+                    reported.addAll(errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS - reported.size())));
+                }
+                lineOffset += result.lineCount;
+            }
+            return new ImportResult(rowsRead, applied, errorCount, List.copyOf(reported));
+        }
+    }
+
+    /**
+     * Splits the file into [start, end) ranges that each begin at the start of a line.
+     */
+    private static List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = Runtime.getRuntime().availableProcessors() * 4;
+        long chunkSize = Math.min(MAX_CHUNK_BYTES, Math.max(MIN_CHUNK_BYTES, size / parallelism + 1));
+
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            // Move the end forward to just past the next newline
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                int newline = -1;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += read;
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static <T> ChunkResult<T> parseChunk(FileChannel channel, long start, long end,
+                                                 Function<String[], T> rowParser) {
+        ChunkResult<T> result = new ChunkResult<>();
+        CharBuffer chars;
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            chars = StandardCharsets.UTF_8.decode(mapped);
+        } catch (IOException e) {
+            result.failure = e;
+            return result;
+        }
+
+        int lineStart = 0;
+        int length = chars.length();
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && chars.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            result.lineCount++;
+            String line = chars.subSequence(lineStart, lineEnd).toString();
+            String[] fields = OrderParser.splitCsvLine(line);
+            if (fields != null) {
+                try {
+                    result.rows.add(new Row<>(result.lineCount, rowParser.apply(fields)));
+                } catch (RuntimeException e) {
+                    result.errors.add(new ImportResult.RowError(result.lineCount, e.getMessage()));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return result;
+    }
+
+    private record Row<T>(long line, T value) {
+    }
+
+    private static class ChunkResult<T> {
+        final List<Row<T>> rows = new ArrayList<>();
+        final List<ImportResult.RowError> errors = new ArrayList<>();
+        long lineCount;
+        IOException failure;
+    }
+
+    /**
+     * Applies one chunk's parsed rows, adding rows it rejects to {@code rejected}.
+     */
+    @FunctionalInterface
+    private interface ChunkApplier<T> {
+        long apply(List<Row<T>> rows, List<ImportResult.RowError> rejected);
+    }
+}
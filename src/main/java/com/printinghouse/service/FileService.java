@@ -1,13 +1,22 @@
 package com.printinghouse.service;
 
+import com.printinghouse.jfr.FileIoEvent;
 import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.HouseSnapshot;
 import com.printinghouse.model.employee.Employee;
+import com.printinghouse.model.publication.Publication;
 
 import java.io.*;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Handles serialization and text file I/O operations.
@@ -18,9 +27,12 @@ public class FileService {
      * Serializes a list of employees to a binary file.
      */
     public static void saveEmployees(List<Employee> employees, String filename) throws IOException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
             oos.writeObject(employees);
         }
+        commitIo(event, FileIoEvent.WRITE, filename);
     }
 
     /**
@@ -28,8 +40,74 @@ public class FileService {
      */
     @SuppressWarnings("unchecked")
     public static List<Employee> loadEmployees(String filename) throws IOException, ClassNotFoundException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        List<Employee> employees;
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
-            return (List<Employee>) ois.readObject();
+            employees = (List<Employee>) ois.readObject();
+        }
+        commitIo(event, FileIoEvent.READ, filename);
+        return employees;
+    }
+
+    /**
+     * Writes a human-readable financial report for a house snapshot to a text file,
+     * along with a binary index of it in {@code <filename>.idx} (see {@link ReportIndex}).
+     * Both are written to temporary files first and then moved into place together, so readers never see a
+     * partly written report, and concurrent saves to the same name cannot mix their lines or leave a report
+     * next to the index of a different save.
+     */
+    public static void saveReport(HouseSnapshot snapshot, String filename) throws IOException {
+        Path target = Path.of(filename).toAbsolutePath();
+        Path indexTarget = Path.of(filename + ".idx").toAbsolutePath();
+        Path temp = tempFileFor(target);
+        Path indexTemp = tempFileFor(indexTarget);
+        try {
+            FileIoEvent event = new FileIoEvent();
+            event.begin();
+            // Same charset as the FileReader used by loadReport; like FileWriter, unmappable characters are replaced
+            try (BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.WRITE), Charset.defaultCharset()))) {
+                writer.write("--- Printing House Financial Report ---");
+                writer.newLine();
+                writer.write("Name: " + snapshot.name());
+                writer.newLine();
+                writer.newLine();
+                writer.write("Total Revenue: " + snapshot.totalRevenue());
+                writer.newLine();
+                writer.write("Total Expenses: " + snapshot.totalExpenses());
+                writer.newLine();
+                writer.write("Net Profit: " + snapshot.netProfit());
+                writer.newLine();
+                writer.newLine();
+                writer.write("--- Publications Sold ---");
+                writer.newLine();
+                if (snapshot.publicationsSold().isEmpty()) {
+                    writer.write("No sales recorded.");
+                    writer.newLine();
+                } else {
+                    for (Map.Entry<Publication, Integer> entry : snapshot.publicationsSold().entrySet()) {
+                        writer.write(entry.getKey().getTitle() + " (Copies: " + entry.getValue() + ")");
+                        writer.newLine();
+                    }
+                }
+            }
+            commitIo(event, FileIoEvent.WRITE, filename, temp);
+
+            FileIoEvent indexEvent = new FileIoEvent();
+            indexEvent.begin();
+            ReportIndex.write(snapshot, indexTemp);
+            commitIo(indexEvent, FileIoEvent.WRITE, filename + ".idx", indexTemp);
+
+            // Renames are quick, so one lock for every report keeps each report and its index from the same save
+            synchronized (FileService.class) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(indexTemp, indexTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(indexTemp);
         }
     }
 
@@ -41,28 +119,71 @@ public class FileService {
      * @throws IOException If the file cannot be read.
      */
     public static FinancialReport loadReport(String filename) throws IOException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        FinancialReport report;
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            report = readReport(reader);
+        }
+        commitIo(event, FileIoEvent.READ, filename);
+        return report;
+    }
+
+    /**
+     * Parses a financial report in the format written by saveReport from any reader,
+     * e.g. a file or a report decompressed from a {@link ReportArchive}.
+     */
+    public static FinancialReport readReport(BufferedReader reader) throws IOException {
         BigDecimal revenue = BigDecimal.ZERO;
         BigDecimal expenses = BigDecimal.ZERO;
         Map<String, Integer> sales = new HashMap<>();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            String section = "";
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith("Total Revenue:")) {
-                    revenue = new BigDecimal(line.split(": ")[1]);
-                } else if (line.startsWith("Total Expenses:")) {
-                    expenses = new BigDecimal(line.split(": ")[1]);
-                } else if (line.equals("--- Publications Sold ---")) {
-                    section = "sales";
-                } else if (section.equals("sales") && !line.isBlank()) {
-                    String[] parts = line.split(" \(Copies: ");
-                    String title = parts[0];
-                    int copies = Integer.parseInt(parts[1].replace(")", ""));
-                    sales.put(title, copies);
-                }
+        String line;
+        String section = "";
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("Total Revenue:")) {
+                revenue = new BigDecimal(line.split(": ")[1]);
+            } else if (line.startsWith("Total Expenses:")) {
+                expenses = new BigDecimal(line.split(": ")[1]);
+            } else if (line.equals("--- Publications Sold ---")) {
+                section = "sales";
+            } else if (section.equals("sales") && !line.isBlank() && !line.equals("No sales recorded.")) {
+                String[] parts = line.split(" \\(Copies: ");
+                String title = parts[0];
+                int copies = Integer.parseInt(parts[1].replace(")", ""));
+                sales.put(title, copies);
             }
         }
         return new FinancialReport(revenue, expenses, sales);
     }
+
+    /**
+     * Returns a new, unused name for a temporary file next to {@code target}, to be created with
+     * {@link StandardOpenOption#CREATE_NEW} and then moved onto the target. Unlike {@link Files#createTempFile},
+     * the file is not created owner-only, so it gets the same default permissions as a file written in place.
+     */
+    static Path tempFileFor(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    /**
+     * Finishes a file I/O event. The file size is only looked up if the event is actually recorded.
+     */
+    private static void commitIo(FileIoEvent event, String operation, String filename) {
+        commitIo(event, operation, filename, Path.of(filename));
+    }
+
+    /**
+     * Finishes a file I/O event for a file that is still at {@code written}, e.g. a temporary file
+     * that will be moved to {@code filename}.
+     */
+    private static void commitIo(FileIoEvent event, String operation, String filename, Path written) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = filename;
+            event.bytes = written.toFile().length();
+            event.commit();
+        }
+    }
 }
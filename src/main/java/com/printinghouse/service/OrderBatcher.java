@@ -0,0 +1,169 @@
+package com.printinghouse.service;
+
+import com.printinghouse.exception.InvalidPrintRequestException;
+import com.printinghouse.exception.NotEnoughPaperException;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.PrintOrder;
+import com.printinghouse.model.order.SaleOrder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces orders submitted from many threads into micro-batches.
+ * A single worker thread drains the queue and records each batch's sales while holding the house lock once,
+ * instead of every caller contending for it separately. Print orders only take their machine's lock.
+ * The queue is bounded: when it is full, new orders are rejected immediately rather than queuing behind
+ * an ever-growing backlog.
+ * <p>
+ * Cancelling a returned future withdraws the order if the worker has not started applying it yet;
+ * {@code cancel} returns false if it is too late, in which case the order is applied as usual.
+ */
+public class OrderBatcher implements AutoCloseable {
+    private final PrintingHouse house;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatchSize;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public OrderBatcher(PrintingHouse house, int queueCapacity, int maxBatchSize) {
+        this.house = house;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.worker = new Thread(this::run, "order-batcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public CompletableFuture<Void> submitSale(SaleOrder order) {
+        return enqueue(new Pending(order, null));
+    }
+
+    public CompletableFuture<Void> submitPrint(PrintOrder order) {
+        return enqueue(new Pending(null, order));
+    }
+
+    private CompletableFuture<Void> enqueue(Pending pending) {
+        if (!running || !queue.offer(pending)) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Order queue is full or closed"));
+        } else if (!running && queue.remove(pending)) {
+            // Closed while offering: the worker may already have done its final drain, so fail the order here.
+            // If it is no longer in the queue, the worker took it and completes it
+            pending.future.completeExceptionally(new RejectedExecutionException("Order batcher was closed"));
+        }
+        return pending.future;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            applyBatch(batch);
+            batch.clear();
+        }
+        // Fail anything left behind after close()
+        queue.drainTo(batch);
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Order batcher was closed"));
+        }
+    }
+
+    private void applyBatch(List<Pending> batch) {
+        List<Pending> prints = new ArrayList<>();
+        synchronized (house) {
+            for (Pending pending : batch) {
+                if (pending.print != null) {
+                    prints.add(pending);
+                } else if (pending.future.claim()) {
+                    try {
+                        house.recordSale(pending.sale.publication(), pending.sale.copies());
+                        pending.future.complete(null);
+                    } catch (Exception e) {
+                        pending.future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+
+        Map<String, PrintingMachine> machines = prints.isEmpty() ? null : machinesById();
+        for (Pending pending : prints) {
+            if (!pending.future.claim()) {
+                continue;
+            }
+            PrintOrder order = pending.print;
+            PrintingMachine machine = machines.get(order.machineID());
+            if (machine == null) {
+                pending.future.completeExceptionally(new InvalidPrintRequestException("Unknown machine " + order.machineID()));
+                continue;
+            }
+            long result = machine.tryPrint(order.publication(), order.copies(), order.useColor());
+            MachineStatus status = MachineStatus.of(result);
+            switch (status) {
+                case OK -> pending.future.complete(null);
+                case NO_PAPER_LOADED, NOT_ENOUGH_PAPER -> pending.future.completeExceptionally(
+                        new NotEnoughPaperException("Machine " + order.machineID() + " rejected the job: " + status
+                                + " (" + MachineStatus.shortfall(result) + " sheets short)"));
+                default -> pending.future.completeExceptionally(
+                        new InvalidPrintRequestException("Machine " + order.machineID() + " rejected the job: " + status));
+            }
+        }
+    }
+
+    private Map<String, PrintingMachine> machinesById() {
+        Map<String, PrintingMachine> machines = new HashMap<>();
+        for (PrintingMachine machine : house.getMachines()) {
+            machines.put(machine.getMachineID(), machine);
+        }
+        return machines;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private static class Pending {
+        final SaleOrder sale;
+        final PrintOrder print;
+        final OrderFuture future = new OrderFuture();
+
+        Pending(SaleOrder sale, PrintOrder print) {
+            this.sale = sale;
+            this.print = print;
+        }
+    }
+
+    /**
+     * A future that can only be cancelled until the worker claims its order.
+     */
+    private static class OrderFuture extends CompletableFuture<Void> {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /**
+         * Called by the worker before applying the order; false if the order was cancelled.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return claimed.compareAndSet(false, true) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
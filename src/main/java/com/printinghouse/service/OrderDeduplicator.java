@@ -0,0 +1,265 @@
+package com.printinghouse.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recently seen order IDs in bounded memory, so retried orders can be dropped.
+ * <p>
+ * IDs go into two rotating Bloom filter generations: when the current generation is one window old, or holds
+ * {@code expectedOrders} IDs, it becomes the previous one and the oldest is cleared. An ID is therefore remembered
+ * for one window, or for {@code expectedOrders} later orders if more than that arrive within the window,
+ * and a generation never holds more IDs than it was sized for, so the false positive rate stays at its target
+ * however many orders arrive. Memory is fixed by the expected number of orders per window.
+ * <p>
+ * A Bloom filter can report an ID it has never seen. To avoid dropping real orders, every hit is confirmed
+ * against an exact set of the most recent IDs (bounded by the window and by {@code maxExactIds}).
+ * If the exact set has not had to evict anything by size since the oldest remembered ID, it is authoritative
+ * and a miss there means the Bloom hit was a false positive. Otherwise the Bloom filter's answer is used,
+ * and the rejection is counted in {@link #getUnconfirmedDuplicates()}, since it may have been a new order.
+ */
+public class OrderDeduplicator {
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(24);
+    public static final int DEFAULT_EXPECTED_ORDERS = 4_000_000; // About 10 MiB per generation
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 1e-4;
+    public static final int DEFAULT_MAX_EXACT_IDS = 100_000;
+
+    private final Clock clock;
+    private final long windowMillis;
+    private final int expectedOrders;
+    private final int maxExactIds;
+    private BloomFilter current;
+    private BloomFilter previous;
+    private long currentStart;
+    private long previousStart;
+    private int currentCount; // IDs added to the current generation
+    private final LinkedHashMap<String, Long> recent = new LinkedHashMap<>(); // ID -> time seen, oldest first
+    private long evictedBySizeAt = Long.MIN_VALUE; // When an ID last had to leave the exact set early
+
+    private long accepted;
+    private long duplicates;
+    private long unconfirmedDuplicates;
+    private long falsePositives;
+
+    public OrderDeduplicator() {
+        this(DEFAULT_WINDOW, DEFAULT_EXPECTED_ORDERS, DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_MAX_EXACT_IDS,
+                Clock.systemUTC());
+    }
+
+    /**
+     * @param window             The minimum time an ID is remembered.
+     * @param expectedOrders     Orders expected per window; each Bloom generation is sized for this many.
+     * @param falsePositiveRate  Target Bloom false positive rate at the expected load.
+     * @param maxExactIds        The most IDs kept in the exact set.
+     * @param clock              The time source, replaceable in tests.
+     */
+    public OrderDeduplicator(Duration window, int expectedOrders, double falsePositiveRate, int maxExactIds, Clock clock) {
+        if (window.isNegative() || window.isZero() || expectedOrders <= 0 || maxExactIds < 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid deduplicator settings");
+        }
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.expectedOrders = expectedOrders;
+        this.maxExactIds = maxExactIds;
+        this.current = new BloomFilter(expectedOrders, falsePositiveRate);
+        this.previous = new BloomFilter(expectedOrders, falsePositiveRate);
+        this.currentStart = clock.millis();
+        this.previousStart = currentStart;
+    }
+
+    /**
+     * Records an order ID if it has not been seen within the window.
+     *
+     * @return true if the order is new, false if it is a duplicate and should be dropped.
+     */
+    public synchronized boolean markIfNew(String orderId) {
+        if (isDuplicate(orderId)) {
+            return false;
+        }
+        markSeen(orderId);
+        return true;
+    }
+
+    /**
+     * Checks an order ID without recording it, e.g. so that it can be recorded with {@link #markSeen}
+     * only once the order has been applied. Duplicates are counted.
+     *
+     * @return true if the ID was seen within the window and the order should be dropped.
+     */
+    public synchronized boolean isDuplicate(String orderId) {
+        long now = clock.millis();
+        rotate(now);
+        expireRecent();
+
+        // The exact set may still hold IDs whose generation was rotated out early because it filled up
+        if (recent.containsKey(orderId)) {
+            duplicates++;
+            return true;
+        }
+        long hash = hash(orderId);
+        if (current.mightContain(hash) || previous.mightContain(hash)) {
+            if (!exactSetIsAuthoritative()) {
+                duplicates++;
+                unconfirmedDuplicates++;
+                return true;
+            }
+            falsePositives++;
+        }
+        return false;
+    }
+
+    /**
+     * Records an order ID as seen, normally after {@link #isDuplicate} returned false for it.
+     */
+    public synchronized void markSeen(String orderId) {
+        long now = clock.millis();
+        rotate(now);
+        if (currentCount >= expectedOrders) {
+            // The generation is full; adding more would push its false positive rate past the target
+            startGeneration(now);
+        }
+        current.add(hash(orderId));
+        currentCount++;
+        if (maxExactIds > 0) {
+            recent.put(orderId, now);
+            if (recent.size() > maxExactIds) {
+                Iterator<Map.Entry<String, Long>> oldest = recent.entrySet().iterator();
+                oldest.next();
+                oldest.remove();
+                evictedBySizeAt = now;
+            }
+        }
+        accepted++;
+    }
+
+    /**
+     * The exact set holds every ID the Bloom filters remember unless it evicted one by size since
+     * the previous generation started. With no exact set, only the Bloom filters can answer.
+     */
+    private boolean exactSetIsAuthoritative() {
+        return maxExactIds > 0 && evictedBySizeAt < previousStart;
+    }
+
+    private void rotate(long now) {
+        long age = now - currentStart;
+        if (age < windowMillis) {
+            return;
+        }
+        if (age >= 2 * windowMillis) {
+            // Both generations are stale
+            current.clear();
+            previous.clear();
+            currentCount = 0;
+            currentStart = now;
+            previousStart = now;
+            return;
+        }
+        startGeneration(currentStart + windowMillis);
+    }
+
+    /**
+     * Makes the current generation the previous one and starts a cleared generation at {@code start}.
+     */
+    private void startGeneration(long start) {
+        BloomFilter oldest = previous;
+        oldest.clear();
+        previous = current;
+        current = oldest;
+        currentCount = 0;
+        previousStart = currentStart;
+        currentStart = start;
+    }
+
+    private void expireRecent() {
+        // IDs older than the previous generation are forgotten by the Bloom filters too
+        long cutoff = previousStart;
+        Iterator<Map.Entry<String, Long>> it = recent.entrySet().iterator();
+        while (it.hasNext() && it.next().getValue() < cutoff) {
+            it.remove();
+        }
+    }
+
+    public synchronized long getAccepted() {
+        return accepted;
+    }
+
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns how many of the duplicates were only known to the Bloom filters, because the exact set had
+     * already let their IDs go. Some of these may have been new orders lost to false positives.
+     */
+    public synchronized long getUnconfirmedDuplicates() {
+        return unconfirmedDuplicates;
+    }
+
+    /**
+     * Returns how many new orders hit the Bloom filters and were let through after the exact set check.
+     */
+    public synchronized long getFalsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of the ID, finished with a MurmurHash3 mix so both halves are well distributed.
+     */
+    private static long hash(String orderId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < orderId.length(); i++) {
+            h ^= orderId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static class BloomFilter {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expected, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        }
+
+        // Double hashing: the i-th probe is h1 + i * h2
+        void add(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(bits, 0);
+        }
+    }
+}
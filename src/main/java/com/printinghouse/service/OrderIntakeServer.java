@@ -0,0 +1,190 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.HouseSnapshot;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.PrintOrder;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * An embedded HTTP endpoint for order intake, built on the JDK's HttpServer.
+ * <ul>
+ *     <li>{@code POST /orders/sales} and {@code POST /orders/prints}: orders as CSV or JSON
+ *     (see {@link OrderParser}); JSON is selected with a {@code Content-Type} containing "json".</li>
+ *     <li>{@code GET /inventory}: paper stock and machine paper loads.</li>
+ *     <li>{@code GET /summary}: revenue, expenses and sales per title.</li>
+ * </ul>
+ * Orders from concurrent requests are coalesced by an {@link OrderBatcher} before they reach the house.
+ * Orders that are still queued when a request times out are withdrawn and reported as not applied,
+ * so a client can safely resend exactly those orders.
+ */
+public class OrderIntakeServer implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final long ORDER_TIMEOUT_SECONDS = 10;
+
+    private final PrintingHouse house;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final OrderBatcher batcher;
+
+    /**
+     * Creates and binds the server. Use port 0 to bind to any free port.
+     */
+    public OrderIntakeServer(PrintingHouse house, InetSocketAddress address) throws IOException {
+        this.house = house;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newCachedThreadPool();
+        this.batcher = new OrderBatcher(house, QUEUE_CAPACITY, MAX_BATCH_SIZE);
+
+        server.setExecutor(executor);
+        server.createContext("/orders/sales", exchange -> handleOrders(exchange,
+                OrderParser::parseSalesCsv, OrderParser::parseSalesJson, batcher::submitSale));
+        server.createContext("/orders/prints", exchange -> handleOrders(exchange,
+                OrderParser::parsePrintsCsv, OrderParser::parsePrintsJson, batcher::submitPrint));
+        server.createContext("/inventory", this::handleInventory);
+        server.createContext("/summary", this::handleSummary);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private <T> void handleOrders(HttpExchange exchange,
+                                  Function<String, List<T>> csvParser,
+                                  Function<String, List<T>> jsonParser,
+                                  Function<T, CompletableFuture<Void>> submitter) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "Method not allowed");
+                return;
+            }
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean json = contentType != null && contentType.contains("json");
+
+            List<T> orders;
+            try {
+                orders = json ? jsonParser.apply(body) : csvParser.apply(body);
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, "Malformed orders: " + e.getMessage());
+                return;
+            }
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(orders.size());
+            for (T order : orders) {
+                futures.add(submitter.apply(order));
+            }
+            boolean timedOut = false;
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                        .get(ORDER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                // Reported per order below
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // Withdraw whatever has not started; orders already being applied finish normally
+                for (CompletableFuture<Void> future : futures) {
+                    future.cancel(false);
+                }
+                timedOut = true;
+            }
+
+            int accepted = 0;
+            int withdrawn = 0;
+            StringBuilder errors = new StringBuilder();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).join();
+                    accepted++;
+                } catch (CancellationException e) {
+                    withdrawn++;
+                    errors.append("Order ").append(i + 1).append(": Timed out before it was applied\n");
+                } catch (CompletionException e) {
+                    errors.append("Order ").append(i + 1).append(": ").append(e.getCause().getMessage()).append('\n');
+                }
+            }
+            int rejected = futures.size() - accepted;
+            int status = timedOut && withdrawn > 0 ? 503 : rejected == 0 ? 200 : 422;
+            respond(exchange, status, "Accepted: " + accepted + "\nRejected: " + rejected + "\n" + errors);
+        }
+    }
+
+    private void handleInventory(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder sb = new StringBuilder("--- Paper Inventory ---\n");
+            for (Map.Entry<Paper, Integer> entry : house.getPaperInventory().entrySet()) {
+                Paper paper = entry.getKey();
+                sb.append(paper.paperType()).append(' ').append(paper.pageSize())
+                        .append(": ").append(entry.getValue()).append('\n');
+            }
+            sb.append("--- Machines ---\n");
+            for (PrintingMachine machine : house.getMachines()) {
+                sb.append(machine.getMachineID()).append(": ").append(machine.getCurrentPaperLoad())
+                        .append(" sheets of ").append(machine.getLoadedPaper()).append('\n');
+            }
+            respond(exchange, 200, sb.toString());
+        }
+    }
+
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            HouseSnapshot snapshot = house.snapshot();
+            StringBuilder sb = new StringBuilder();
+            sb.append("Total Revenue: ").append(snapshot.totalRevenue()).append('\n');
+            sb.append("Total Expenses: ").append(snapshot.totalExpenses()).append('\n');
+            sb.append("Net Profit: ").append(snapshot.netProfit()).append('\n');
+            sb.append("--- Publications Sold ---\n");
+            for (Map.Entry<Publication, Integer> entry : snapshot.publicationsSold().entrySet()) {
+                sb.append(entry.getKey().getTitle()).append(" (Copies: ").append(entry.getValue()).append(")\n");
+            }
+            respond(exchange, 200, sb.toString());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Stops the server, waiting at most one second for in-flight exchanges.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        batcher.close();
+        executor.shutdown();
+    }
+}
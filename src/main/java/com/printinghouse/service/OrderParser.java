@@ -0,0 +1,300 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.order.PrintOrder;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.Newspaper;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses sale and print orders from CSV or flat JSON text.
+ * <p>
+ * CSV columns (blank lines and lines starting with '#' are ignored, titles may not contain commas):
+ * <ul>
+ *     <li>Sale: {@code type,title,pageCount,pageSize,basePricePerCopy,copies}</li>
+ *     <li>Print: {@code machineID,type,title,pageCount,pageSize,basePricePerCopy,copies,useColor}</li>
+ * </ul>
+ * JSON input is a single object or an array of flat objects using the same names as keys.
+ * Malformed input is reported with an IllegalArgumentException naming the offending line or object.
+ */
+public class OrderParser {
+
+    public static List<SaleOrder> parseSalesCsv(String text) {
+        List<SaleOrder> orders = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String[] fields = splitCsvLine(lines[i]);
+            if (fields == null) continue;
+            try {
+                orders.add(parseSale(fields));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return orders;
+    }
+
+    public static List<PrintOrder> parsePrintsCsv(String text) {
+        List<PrintOrder> orders = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String[] fields = splitCsvLine(lines[i]);
+            if (fields == null) continue;
+            try {
+                orders.add(parsePrint(fields));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return orders;
+    }
+
+    public static List<SaleOrder> parseSalesJson(String text) {
+        List<SaleOrder> orders = new ArrayList<>();
+        List<Map<String, String>> objects = parseJsonObjects(text);
+        for (int i = 0; i < objects.size(); i++) {
+            Map<String, String> o = objects.get(i);
+            try {
+                orders.add(parseSale(new String[]{
+                        o.get("type"), o.get("title"), o.get("pageCount"), o.get("pageSize"),
+                        o.get("basePricePerCopy"), o.get("copies")}));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Object " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return orders;
+    }
+
+    public static List<PrintOrder> parsePrintsJson(String text) {
+        List<PrintOrder> orders = new ArrayList<>();
+        List<Map<String, String>> objects = parseJsonObjects(text);
+        for (int i = 0; i < objects.size(); i++) {
+            Map<String, String> o = objects.get(i);
+            try {
+                orders.add(parsePrint(new String[]{
+                        o.get("machineID"), o.get("type"), o.get("title"), o.get("pageCount"), o.get("pageSize"),
+                        o.get("basePricePerCopy"), o.get("copies"), o.get("useColor")}));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Object " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Creates a publication from its type name (BOOK, NEWSPAPER or POSTER) and properties.
+     * The page count is ignored for posters, which always have one page.
+     */
+    public static Publication parsePublication(String type, String title, String pageCount, String pageSize, String basePrice) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Missing title");
+        }
+        PageSize size = PageSize.valueOf(require(pageSize, "pageSize").trim().toUpperCase(Locale.ROOT));
+        BigDecimal price = new BigDecimal(require(basePrice, "basePricePerCopy").trim());
+        PublicationType kind = PublicationType.valueOf(require(type, "type").trim().toUpperCase(Locale.ROOT));
+        return switch (kind) {
+            case BOOK -> new Book(title.trim(), parsePositive(pageCount, "pageCount"), size, price);
+            case NEWSPAPER -> new Newspaper(title.trim(), parsePositive(pageCount, "pageCount"), size, price);
+            case POSTER -> new Poster(title.trim(), size, price);
+        };
+    }
+
+    static SaleOrder parseSale(String[] f) {
+        if (f.length != 6) {
+            throw new IllegalArgumentException("Expected 6 fields but found " + f.length);
+        }
+        Publication publication = parsePublication(f[0], f[1], f[2], f[3], f[4]);
+        return new SaleOrder(publication, parsePositive(f[5], "copies"));
+    }
+
+    static PrintOrder parsePrint(String[] f) {
+        if (f.length != 8) {
+            throw new IllegalArgumentException("Expected 8 fields but found " + f.length);
+        }
+        String machineID = require(f[0], "machineID").trim();
+        Publication publication = parsePublication(f[1], f[2], f[3], f[4], f[5]);
+        int copies = parsePositive(f[6], "copies");
+        String color = require(f[7], "useColor").trim();
+        if (!color.equalsIgnoreCase("true") && !color.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("useColor must be true or false: " + color);
+        }
+        return new PrintOrder(machineID, publication, copies, Boolean.parseBoolean(color));
+    }
+
+    /**
+     * Splits a CSV line on commas, or returns null for lines that should be skipped.
+     */
+    static String[] splitCsvLine(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        return trimmed.split(",", -1);
+    }
+
+    static int parsePositive(String value, String name) {
+        int n = Integer.parseInt(require(value, name).trim());
+        if (n <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + n);
+        }
+        return n;
+    }
+
+    private static String require(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    // --- Minimal JSON reader for flat objects ---
+
+    private static List<Map<String, String>> parseJsonObjects(String text) {
+        JsonReader reader = new JsonReader(text);
+        List<Map<String, String>> objects = new ArrayList<>();
+        reader.skipWhitespace();
+        if (reader.peek() == '[') {
+            reader.expect('[');
+            reader.skipWhitespace();
+            if (reader.peek() == ']') {
+                reader.expect(']');
+            } else {
+                do {
+                    objects.add(reader.readObject());
+                    reader.skipWhitespace();
+                } while (reader.tryConsume(','));
+                reader.expect(']');
+            }
+        } else {
+            objects.add(reader.readObject());
+        }
+        reader.skipWhitespace();
+        if (!reader.atEnd()) {
+            throw new IllegalArgumentException("Unexpected trailing content at position " + reader.pos);
+        }
+        return objects;
+    }
+
+    private static class JsonReader {
+        private final String text;
+        private int pos;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> readObject() {
+            Map<String, String> object = new HashMap<>();
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (tryConsume('}')) {
+                return object;
+            }
+            do {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                object.put(key, readValue());
+                skipWhitespace();
+            } while (tryConsume(','));
+            expect('}');
+            return object;
+        }
+
+        private String readValue() {
+            if (peek() == '"') {
+                return readString();
+            }
+            int start = pos;
+            while (!atEnd() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty() || literal.equals("null")) {
+                return null;
+            }
+            return literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (atEnd()) {
+                    throw new IllegalArgumentException("Unterminated string");
+                }
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c == '\\') {
+                    if (atEnd()) {
+                        throw new IllegalArgumentException("Unterminated escape");
+                    }
+                    char e = text.charAt(pos++);
+                    switch (e) {
+                        case 'n' -> sb.append('\n');
+                        case 't' -> sb.append('\t');
+                        case 'r' -> sb.append('\r');
+                        case 'b' -> sb.append('\b');
+                        case 'f' -> sb.append('\f');
+                        case 'u' -> {
+                            if (pos + 4 > text.length()) {
+                                throw new IllegalArgumentException("Bad unicode escape");
+                            }
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        char peek() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            return text.charAt(pos);
+        }
+
+        boolean tryConsume(char c) {
+            if (!atEnd() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + pos);
+            }
+        }
+
+        boolean atEnd() {
+            return pos >= text.length();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.printinghouse.service;
+
+import com.printinghouse.jfr.PaperRefillEvent;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintJobListener;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the house's machines supplied with paper in the background.
+ * <p>
+ * For every machine that has paper loaded, the service pre-stages enough sheets of the same paper
+ * from the house inventory to bring the machine from its low-water mark back up to full capacity.
+ * As soon as a machine's load drops to the low-water mark, the staged sheets are loaded, never more than
+ * {@code maxPaperCapacity} allows. Checks run periodically and right after each print job,
+ * so refills overlap with printing instead of waiting for a job to fail.
+ * Machines that have never been loaded are left alone, since there is no way to know which paper they need.
+ * Machines added to the house after the service was created are only covered by the periodic checks.
+ */
+public class PaperRefillService implements AutoCloseable {
+    private final PrintingHouse house;
+    private final double lowWaterFraction;
+    private final ScheduledExecutorService scheduler;
+    private final Map<PrintingMachine, Integer> staged = new HashMap<>();
+    private final Map<PrintingMachine, Paper> stagedPaper = new HashMap<>();
+    private final PrintJobListener jobListener = (machine, publication, copies, paper, sheets) -> scheduleCheck(machine);
+    private final List<PrintingMachine> listenedMachines;
+
+    /**
+     * @param lowWaterFraction The fraction of a machine's capacity (e.g. 0.25) at or below which it is refilled.
+     * @param checkIntervalMillis How often every machine is checked, in addition to the checks after each job.
+     */
+    public PaperRefillService(PrintingHouse house, double lowWaterFraction, long checkIntervalMillis) {
+        if (lowWaterFraction < 0 || lowWaterFraction >= 1) {
+            throw new IllegalArgumentException("Low-water fraction must be in [0, 1): " + lowWaterFraction);
+        }
+        this.house = house;
+        this.lowWaterFraction = lowWaterFraction;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "paper-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.listenedMachines = house.getMachines();
+        for (PrintingMachine machine : listenedMachines) {
+            machine.addJobListener(jobListener);
+        }
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Called from the machine's job listener, after the job has already happened, so it must not throw.
+     */
+    private void scheduleCheck(PrintingMachine machine) {
+        try {
+            scheduler.execute(() -> check(machine));
+        } catch (RejectedExecutionException e) {
+            // Closing; the job's machine no longer needs refilling by this service
+        }
+    }
+
+    /**
+     * Checks every machine immediately on the calling thread.
+     */
+    public void checkAll() {
+        for (PrintingMachine machine : house.getMachines()) {
+            check(machine);
+        }
+    }
+
+    private synchronized void check(PrintingMachine machine) {
+        Paper paper = machine.getLoadedPaper();
+        if (paper == null) {
+            return;
+        }
+        PaperRefillEvent event = new PaperRefillEvent();
+        event.begin();
+        int loaded = 0;
+        int capacity = machine.getMaxPaperCapacity();
+        int lowWaterMark = lowWaterMark(machine);
+
+        // If the machine switched paper, the old staged sheets go back to stock
+        Paper previous = stagedPaper.put(machine, paper);
+        if (previous != null && !previous.equals(paper)) {
+            house.addPaperToInventory(previous, staged.getOrDefault(machine, 0));
+            staged.put(machine, 0);
+        }
+
+        // 1. Once the machine is low, load the staged sheets, topping them up from stock if the machine
+        //    has dropped below the low-water mark
+        if (machine.getCurrentPaperLoad() <= lowWaterMark) {
+            int onHand = staged.getOrDefault(machine, 0);
+            int missing = capacity - machine.getCurrentPaperLoad() - onHand;
+            if (missing > 0) {
+                onHand += house.takePaperFromInventory(paper, missing);
+            }
+            // The house lock is not held here, so this cannot deadlock with callers that lock house then machine
+            synchronized (machine) {
+                int amount = Math.min(onHand, capacity - machine.getCurrentPaperLoad());
+                if (amount > 0 && MachineStatus.of(machine.tryLoad(paper, amount)) == MachineStatus.OK) {
+                    onHand -= amount;
+                    loaded = amount;
+                }
+            }
+            staged.put(machine, onHand);
+        }
+
+        // 2. Pre-stage enough sheets for the next refill, from the low-water mark back to full
+        int target = capacity - lowWaterMark;
+        int onHand = staged.getOrDefault(machine, 0);
+        int restaged = 0;
+        if (onHand < target) {
+            restaged = house.takePaperFromInventory(paper, target - onHand);
+            onHand += restaged;
+            staged.put(machine, onHand);
+        }
+
+        // Checks that found nothing to do are not recorded, so the periodic sweep does not flood recordings
+        event.end();
+        if ((loaded > 0 || restaged > 0) && event.shouldCommit()) {
+            event.machineID = machine.getMachineID();
+            event.sheetsLoaded = loaded;
+            event.sheetsStaged = onHand;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the load at or below which a machine gets refilled.
+     */
+    public int lowWaterMark(PrintingMachine machine) {
+        return (int) (machine.getMaxPaperCapacity() * lowWaterFraction);
+    }
+
+    /**
+     * Returns how many sheets are currently staged for a machine.
+     */
+    public synchronized int getStaged(PrintingMachine machine) {
+        return staged.getOrDefault(machine, 0);
+    }
+
+    /**
+     * Stops refilling, detaches from the machines and returns all staged paper to the house inventory.
+     * Waits up to five seconds for a running check; if interrupted, stops waiting and keeps the interrupt flag set.
+     */
+    @Override
+    public void close() {
+        for (PrintingMachine machine : listenedMachines) {
+            machine.removeJobListener(jobListener);
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (Map.Entry<PrintingMachine, Integer> entry : staged.entrySet()) {
+                if (entry.getValue() > 0) {
+                    house.addPaperToInventory(stagedPaper.get(entry.getKey()), entry.getValue());
+                }
+            }
+            staged.clear();
+        }
+    }
+}
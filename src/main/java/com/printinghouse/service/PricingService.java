@@ -4,6 +4,7 @@ import com.printinghouse.model.paper.PaperType;
 import com.printinghouse.model.publication.PageSize;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -14,10 +15,13 @@ public class PricingService {
     // Base price for A5 for each paper type
     private final Map<PaperType, BigDecimal> basePricesA5;
     // Percentage increase for each size up, e.g., 0.20 for 20%
-    private final BigDecimal sizeIncreasePercentage;
+    private BigDecimal sizeIncreasePercentage;
+    // Bumped on every price change so that cached quotes can detect they are stale
+    private long version;
 
     public PricingService(Map<PaperType, BigDecimal> basePricesA5, BigDecimal sizeIncreasePercentage) {
-        this.basePricesA5 = basePricesA5;
+        this.basePricesA5 = new EnumMap<>(PaperType.class);
+        this.basePricesA5.putAll(basePricesA5);
         this.sizeIncreasePercentage = sizeIncreasePercentage;
     }
 
@@ -25,7 +29,7 @@ public class PricingService {
      * Calculates the price per sheet for a given paper type and size.
      * Starts with the A5 base price and applies the percentage increase cumulatively.
      */
-    public BigDecimal calculatePaperPrice(PaperType paperType, PageSize pageSize) {
+    public synchronized BigDecimal calculatePaperPrice(PaperType paperType, PageSize pageSize) {
         BigDecimal basePrice = basePricesA5.get(paperType);
         if (basePrice == null) {
             throw new IllegalArgumentException("No base price set for " + paperType);
@@ -40,4 +44,34 @@ public class PricingService {
         BigDecimal multiplier = BigDecimal.ONE.add(sizeIncreasePercentage).pow(sizeIndex);
         return basePrice.multiply(multiplier);
     }
+
+    /**
+     * Returns true if a base price is set for the paper type, i.e. calculatePaperPrice will not throw for it.
+     */
+    public synchronized boolean hasBasePrice(PaperType paperType) {
+        return basePricesA5.containsKey(paperType);
+    }
+
+    /**
+     * Sets the A5 base price for a paper type.
+     */
+    public synchronized void setBasePrice(PaperType paperType, BigDecimal basePriceA5) {
+        basePricesA5.put(paperType, basePriceA5);
+        version++;
+    }
+
+    /**
+     * Sets the percentage increase applied for each size step above A5.
+     */
+    public synchronized void setSizeIncreasePercentage(BigDecimal sizeIncreasePercentage) {
+        this.sizeIncreasePercentage = sizeIncreasePercentage;
+        version++;
+    }
+
+    /**
+     * Returns a counter that changes whenever any price changes.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,22 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+
+import java.math.BigDecimal;
+
+/**
+ * The full identity of a publication, for maps that must tell apart publications which
+ * {@link Publication#equals} treats as the same: it ignores the base price, so a book re-listed at a new price
+ * would otherwise share a cache entry or catalogue slot with the old listing.
+ * Prices are compared by value, so 2.0 and 2.00 are the same key.
+ */
+record PublicationKey(Class<? extends Publication> type, String title, int pageCount,
+                      PageSize pageSize, BigDecimal basePricePerCopy) {
+
+    static PublicationKey of(Publication publication) {
+        BigDecimal price = publication.getBasePricePerCopy();
+        return new PublicationKey(publication.getClass(), publication.getTitle(), publication.getPageCount(),
+                publication.getPageSize(), price == null ? null : price.stripTrailingZeros());
+    }
+}
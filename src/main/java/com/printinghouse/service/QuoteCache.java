@@ -0,0 +1,118 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of sale and paper quotes for one PrintingHouse.
+ * <p>
+ * Sale quotes are cached per copy, keyed by publication, volume tier and client, so every copy count
+ * within the same tier shares one entry. Publications are keyed on their full identity including the price
+ * (see {@link PublicationKey}), since re-listing a title at a new price must not return the old quote.
+ * Each entry remembers the pricing rules or PricingService version it was computed from and is discarded
+ * as soon as those change, so a stale price is never returned.
+ */
+public class QuoteCache {
+    private final PrintingHouse house;
+    private final int maxEntries;
+    private final LinkedHashMap<Object, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public QuoteCache(PrintingHouse house, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        this.house = house;
+        this.maxEntries = maxEntries;
+        // Access order makes iteration order least-recently-used first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > QuoteCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the same value as {@link PrintingHouse#calculateSalePrice(Publication, int)}.
+     */
+    public BigDecimal quoteSale(Publication publication, int copies) {
+        return quoteSale(publication, copies, null);
+    }
+
+    /**
+     * Returns the same value as {@link PrintingHouse#calculateSalePrice(Publication, int, String)}.
+     */
+    public BigDecimal quoteSale(Publication publication, int copies, String clientID) {
+        SalePricingRules rules = house.getPricingRules();
+        SaleKey key = new SaleKey(PublicationKey.of(publication), rules.tierIndex(copies), clientID);
+        BigDecimal perCopy;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.source == rules) {
+                hits++;
+                perCopy = entry.price;
+            } else {
+                misses++;
+                perCopy = rules.pricePerCopy(publication, copies, clientID);
+                entries.put(key, new Entry(perCopy, rules, 0));
+            }
+        }
+        return perCopy.multiply(BigDecimal.valueOf(copies));
+    }
+
+    /**
+     * Returns the same value as {@link PricingService#calculatePaperPrice} for the paper's type and size.
+     */
+    public BigDecimal quotePaper(Paper paper) {
+        PricingService pricing = house.getPricingService();
+        BigDecimal price;
+        long version;
+        synchronized (pricing) {
+            version = pricing.getVersion();
+            synchronized (this) {
+                Entry entry = entries.get(paper);
+                if (entry != null && entry.source == pricing && entry.version == version) {
+                    hits++;
+                    return entry.price;
+                }
+                misses++;
+            }
+            price = pricing.calculatePaperPrice(paper.paperType(), paper.pageSize());
+        }
+        synchronized (this) {
+            entries.put(paper, new Entry(price, pricing, version));
+        }
+        return price;
+    }
+
+    /**
+     * Removes all cached quotes. Statistics are kept.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    private record SaleKey(PublicationKey publication, int tier, String clientID) {
+    }
+
+    private record Entry(BigDecimal price, Object source, long version) {
+    }
+}
@@ -0,0 +1,299 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.FinancialReport;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores many text reports (as written by {@link FileService#saveReport}) in one file of independently
+ * deflate-compressed chunks, so that queries can decompress and aggregate the chunks in parallel.
+ * <p>
+ * Layout: a header (magic, version), the compressed chunks, then a manifest listing every chunk's position,
+ * sizes and the names of the reports it holds, and finally the manifest's position and the magic again.
+ * Inside a chunk, each report is stored as its length followed by its text.
+ */
+public class ReportArchive implements Closeable {
+    private static final int MAGIC = 0x52415243; // "RARC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FOOTER_BYTES = 12;
+    public static final int DEFAULT_REPORTS_PER_CHUNK = 64;
+
+    private record Chunk(long offset, int compressedLength, int rawLength, List<String> reportNames) {
+    }
+
+    private final FileChannel channel;
+    private final List<Chunk> chunks;
+
+    private ReportArchive(FileChannel channel, List<Chunk> chunks) {
+        this.channel = channel;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Packs report files into a new archive with {@value #DEFAULT_REPORTS_PER_CHUNK} reports per chunk.
+     */
+    public static void create(List<Path> reportFiles, Path archive) throws IOException {
+        create(reportFiles, archive, DEFAULT_REPORTS_PER_CHUNK);
+    }
+
+    /**
+     * Packs report files into a new archive. Each report is named after its file name.
+     * Smaller chunks allow more parallelism in queries; larger chunks compress better.
+     */
+    public static void create(List<Path> reportFiles, Path archive, int reportsPerChunk) throws IOException {
+        if (reportsPerChunk <= 0) {
+            throw new IllegalArgumentException("Reports per chunk must be positive: " + reportsPerChunk);
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel out = FileChannel.open(archive, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(8).putInt(MAGIC).putInt(FORMAT_VERSION).flip());
+
+            for (int start = 0; start < reportFiles.size(); start += reportsPerChunk) {
+                List<Path> batch = reportFiles.subList(start, Math.min(start + reportsPerChunk, reportFiles.size()));
+                ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                List<String> names = new ArrayList<>();
+                try (DataOutputStream data = new DataOutputStream(raw)) {
+                    for (Path file : batch) {
+                        byte[] text = Files.readAllBytes(file);
+                        data.writeInt(text.length);
+                        data.write(text);
+                        names.add(file.getFileName().toString());
+                    }
+                }
+                byte[] compressed = deflate(raw.toByteArray());
+                chunks.add(new Chunk(out.position(), compressed.length, raw.size(), List.copyOf(names)));
+                writeFully(out, ByteBuffer.wrap(compressed));
+            }
+
+            long manifestOffset = out.position();
+            ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+            try (DataOutputStream data = new DataOutputStream(manifest)) {
+                data.writeInt(chunks.size());
+                for (Chunk chunk : chunks) {
+                    data.writeLong(chunk.offset());
+                    data.writeInt(chunk.compressedLength());
+                    data.writeInt(chunk.rawLength());
+                    data.writeInt(chunk.reportNames().size());
+                    for (String name : chunk.reportNames()) {
+                        data.writeUTF(name);
+                    }
+                }
+                data.writeLong(manifestOffset);
+                data.writeInt(MAGIC);
+            }
+            writeFully(out, ByteBuffer.wrap(manifest.toByteArray()));
+        }
+    }
+
+    /**
+     * Opens an archive and reads its manifest. The chunks are only read by queries.
+     */
+    public static ReportArchive open(Path archive) throws IOException {
+        FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 8 + FOOTER_BYTES) {
+                throw new IOException(archive + " is not a report archive");
+            }
+            ByteBuffer footer = readAt(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long manifestOffset = footer.getLong();
+            if (footer.getInt() != MAGIC || manifestOffset < 8 || manifestOffset > size - FOOTER_BYTES) {
+                throw new IOException(archive + " is not a report archive");
+            }
+            ByteBuffer manifest = readAt(channel, manifestOffset, (int) (size - FOOTER_BYTES - manifestOffset));
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(
+                    manifest.array(), 0, manifest.limit()));
+            int count = data.readInt();
+            List<Chunk> chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long offset = data.readLong();
+                int compressedLength = data.readInt();
+                int rawLength = data.readInt();
+                int reports = data.readInt();
+                List<String> names = new ArrayList<>(reports);
+                for (int r = 0; r < reports; r++) {
+                    names.add(data.readUTF());
+                }
+                chunks.add(new Chunk(offset, compressedLength, rawLength, List.copyOf(names)));
+            }
+            return new ReportArchive(channel, chunks);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the names of all reports in the archive, in the order they were added.
+     */
+    public List<String> getReportNames() {
+        List<String> names = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            names.addAll(chunk.reportNames());
+        }
+        return names;
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Combines every report in the archive.
+     */
+    public FinancialReport aggregate() throws IOException {
+        return aggregate(name -> true);
+    }
+
+    /**
+     * Combines the reports whose names match, e.g. {@code name -> name.startsWith("2024-")}:
+     * revenue and expenses are summed, and copies are summed per title.
+     * Chunks without any matching report are skipped without being read; the rest are decompressed
+     * and parsed in parallel.
+     */
+    public FinancialReport aggregate(Predicate<String> reportFilter) throws IOException {
+        try {
+            Totals totals = IntStream.range(0, chunks.size()).parallel()
+                    .filter(i -> chunks.get(i).reportNames().stream().anyMatch(reportFilter))
+                    .mapToObj(i -> {
+                        try {
+                            return readChunk(chunks.get(i), reportFilter);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(Totals::new, Totals::addAll, Totals::addAll);
+            return totals.toReport();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Totals readChunk(Chunk chunk, Predicate<String> reportFilter) throws IOException {
+        byte[] raw = inflate(readAt(channel, chunk.offset(), chunk.compressedLength()).array(), chunk.rawLength());
+        Totals totals = new Totals();
+        ByteBuffer reports = ByteBuffer.wrap(raw);
+        for (String name : chunk.reportNames()) {
+            int length = reports.getInt();
+            if (reportFilter.test(name)) {
+                // saveReport writes with the platform charset, so it is read back the same way
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new ByteArrayInputStream(raw, reports.position(), length), Charset.defaultCharset()));
+                totals.add(FileService.readReport(reader));
+            }
+            reports.position(reports.position() + length);
+        }
+        return totals;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[rawLength];
+            int filled = 0;
+            while (filled < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(output, filled, rawLength - filled);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != rawLength) {
+                throw new IOException("Corrupt archive chunk: expected " + rawLength + " bytes but got " + filled);
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive chunk", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Running sums for one or more reports.
+     */
+    private static class Totals {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal expenses = BigDecimal.ZERO;
+        private final Map<String, Integer> sales = new HashMap<>();
+
+        void add(FinancialReport report) {
+            revenue = revenue.add(report.totalRevenue());
+            expenses = expenses.add(report.totalExpenses());
+            report.publicationsSold().forEach((title, copies) -> sales.merge(title, copies, Integer::sum));
+        }
+
+        void addAll(Totals other) {
+            revenue = revenue.add(other.revenue);
+            expenses = expenses.add(other.expenses);
+            other.sales.forEach((title, copies) -> sales.merge(title, copies, Integer::sum));
+        }
+
+        FinancialReport toReport() {
+            return new FinancialReport(revenue, expenses, sales);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.HouseSnapshot;
+import com.printinghouse.model.publication.Publication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary companion to the text report, written by {@link FileService#saveReport(HouseSnapshot, String)}
+ * as {@code <report>.idx}, that answers per-title lookups without reading the whole file.
+ * <p>
+ * Layout (big-endian): a 16-byte fixed header (magic, version, title count, offset of the records),
+ * the revenue and expense totals as modified-UTF-8 strings, then one 16-byte record per title
+ * (title offset and length in the string pool, copies sold) sorted by the title's encoded bytes,
+ * and finally the string pool. Titles are encoded as modified UTF-8 (as by {@link DataOutputStream#writeUTF},
+ * without the length prefix), which encodes every char on its own, so any title, even one with an unpaired
+ * surrogate, round-trips and distinct titles never share an encoding.
+ * Copies of publications that share a title are added together.
+ * A title lookup is a binary search over the memory-mapped records, touching only O(log n) of the file.
+ */
+public class ReportIndex {
+    private static final int MAGIC = 0x52494458; // "RIDX"
+    private static final int FORMAT_VERSION = 2; // 2: titles in modified UTF-8
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int recordsStart;
+    private final int poolStart;
+    private final BigDecimal totalRevenue;
+    private final BigDecimal totalExpenses;
+
+    private ReportIndex(ByteBuffer buffer, Path file) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(file + " is not a report index");
+        }
+        this.count = buffer.getInt(8);
+        this.recordsStart = buffer.getInt(12);
+        this.poolStart = recordsStart + count * RECORD_BYTES;
+
+        ByteBuffer totals = buffer.duplicate().position(HEADER_BYTES);
+        this.totalRevenue = new BigDecimal(readUTF(totals));
+        this.totalExpenses = new BigDecimal(readUTF(totals));
+    }
+
+    /**
+     * Writes the index for a snapshot. The file is written next to its final name and then moved into place,
+     * so readers that still have the previous version mapped are not affected.
+     */
+    public static void write(HouseSnapshot snapshot, Path file) throws IOException {
+        Map<String, Long> copiesByTitle = new HashMap<>();
+        for (Map.Entry<Publication, Integer> entry : snapshot.publicationsSold().entrySet()) {
+            copiesByTitle.merge(entry.getKey().getTitle(), (long) entry.getValue(), Long::sum);
+        }
+        List<TitleRecord> records = new ArrayList<>(copiesByTitle.size());
+        for (Map.Entry<String, Long> entry : copiesByTitle.entrySet()) {
+            records.add(new TitleRecord(encode(entry.getKey()), entry.getValue()));
+        }
+        records.sort((a, b) -> Arrays.compareUnsigned(a.title, b.title));
+
+        ByteArrayOutputStream totals = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(totals)) {
+            out.writeUTF(snapshot.totalRevenue().toPlainString());
+            out.writeUTF(snapshot.totalExpenses().toPlainString());
+        }
+        int recordsStart = HEADER_BYTES + totals.size();
+        int poolBytes = records.stream().mapToInt(record -> record.title.length).sum();
+        ByteBuffer content = ByteBuffer.allocate(recordsStart + records.size() * RECORD_BYTES + poolBytes);
+        content.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(records.size()).putInt(recordsStart);
+        content.put(totals.toByteArray());
+        int poolOffset = 0;
+        for (TitleRecord record : records) {
+            content.putInt(poolOffset).putInt(record.title.length).putLong(record.copies);
+            poolOffset += record.title.length;
+        }
+        for (TitleRecord record : records) {
+            content.put(record.title);
+        }
+
+        // A unique temp name, so concurrent writes of the same index do not share a temp file
+        Path target = file.toAbsolutePath();
+        Path temp = FileService.tempFileFor(target);
+        try {
+            Files.write(temp, content.array(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps an index file for reading. The mapping stays valid after the file is replaced by a newer report.
+     */
+    public static ReportIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ReportIndex(buffer, file);
+        }
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    /**
+     * Returns the number of distinct titles in the report.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the copies sold of a title, or 0 if the title is not in the report.
+     */
+    public long getCopies(String title) {
+        byte[] key = encode(title);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTitle(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return buffer.getLong(recordsStart + mid * RECORD_BYTES + 8);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares the title of a record with a key, byte by byte as unsigned values, without copying the title.
+     */
+    private int compareTitle(int record, byte[] key) {
+        int position = recordsStart + record * RECORD_BYTES;
+        int offset = poolStart + buffer.getInt(position);
+        int length = buffer.getInt(position + 4);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    /**
+     * Encodes a title as modified UTF-8: NUL and chars up to U+07FF take two bytes (ASCII one), the rest three.
+     * Surrogates are encoded one by one, so unlike {@link String#getBytes} nothing is replaced.
+     */
+    private static byte[] encode(String title) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(title.length());
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (c != 0 && c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private record TitleRecord(byte[] title, long copies) {
+    }
+
+    private static String readUTF(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        // writeUTF only differs from UTF-8 for NUL and supplementary characters, which numbers never contain
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compiled set of sale pricing rules.
+ * <p>
+ * The price per copy is {@code basePricePerCopy * (1 + typeSurcharge + sizeSurcharge) * (1 - tierDiscount) * (1 - clientDiscount)},
+ * where the tier is the highest volume tier whose threshold the number of copies exceeds.
+ * <p>
+ * {@link Builder#build()} multiplies the type, size and tier factors out into one flat table,
+ * so a quote is a binary search over the tier thresholds, an array lookup and one or two multiplications,
+ * however many rules were defined.
+ */
+public class SalePricingRules {
+    private static final int SIZES = PageSize.values().length;
+
+    // Ascending copy thresholds; tier i applies when copies > thresholds[i]. Tier 0 is the implicit no-discount tier.
+    private final int[] thresholds;
+    // factors[(type * SIZES + size) * tiers + tier]
+    private final BigDecimal[] factors;
+    private final Map<String, BigDecimal> clientFactors;
+
+    private SalePricingRules(int[] thresholds, BigDecimal[] factors, Map<String, BigDecimal> clientFactors) {
+        this.thresholds = thresholds;
+        this.factors = factors;
+        this.clientFactors = clientFactors;
+    }
+
+    /**
+     * Builds the single-threshold rule set described by a PrintingHouseConfig:
+     * above {@code clientDiscountThreshold} copies, {@code clientDiscountPercentage} is taken off.
+     */
+    public static SalePricingRules fromConfig(PrintingHouseConfig config) {
+        return builder()
+                .volumeTier(config.clientDiscountThreshold(), config.clientDiscountPercentage())
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Calculates the price of a single copy.
+     *
+     * @param clientID The client buying, or null for the standard rates.
+     */
+    public BigDecimal pricePerCopy(Publication publication, int copies, String clientID) {
+        int index = (publication.getType().ordinal() * SIZES + publication.getPageSize().ordinal()) * thresholds.length
+                + tierIndex(copies);
+        BigDecimal price = publication.getBasePricePerCopy().multiply(factors[index]);
+        if (clientID != null) {
+            BigDecimal clientFactor = clientFactors.get(clientID);
+            if (clientFactor != null) {
+                price = price.multiply(clientFactor);
+            }
+        }
+        return price;
+    }
+
+    /**
+     * Calculates the total price for a number of copies.
+     */
+    public BigDecimal totalPrice(Publication publication, int copies, String clientID) {
+        return pricePerCopy(publication, copies, clientID).multiply(BigDecimal.valueOf(copies));
+    }
+
+    /**
+     * Returns the index of the volume tier that applies to the number of copies (0 when no tier applies).
+     */
+    public int tierIndex(int copies) {
+        // Find the last threshold strictly below copies
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (thresholds[mid] < copies) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Collects pricing rules and compiles them into a SalePricingRules table.
+     * Adding a rule for a key that already has one replaces it.
+     */
+    public static class Builder {
+        private final TreeMap<Integer, BigDecimal> tiers = new TreeMap<>();
+        private final Map<PublicationType, BigDecimal> typeSurcharges = new EnumMap<>(PublicationType.class);
+        private final Map<PageSize, BigDecimal> sizeSurcharges = new EnumMap<>(PageSize.class);
+        private final Map<String, BigDecimal> clientDiscounts = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Applies a discount (e.g. 0.10 for 10%) to orders of more than {@code threshold} copies.
+         */
+        public Builder volumeTier(int threshold, BigDecimal discountPercentage) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("Tier threshold cannot be negative: " + threshold);
+            }
+            tiers.put(threshold, discountPercentage);
+            return this;
+        }
+
+        /**
+         * Adds a surcharge (e.g. 0.20 for 20%) for a type of publication.
+         */
+        public Builder typeSurcharge(PublicationType type, BigDecimal surchargePercentage) {
+            typeSurcharges.put(type, surchargePercentage);
+            return this;
+        }
+
+        /**
+         * Adds a surcharge (e.g. 0.20 for 20%) for a page size.
+         */
+        public Builder sizeSurcharge(PageSize size, BigDecimal surchargePercentage) {
+            sizeSurcharges.put(size, surchargePercentage);
+            return this;
+        }
+
+        /**
+         * Gives a client an extra discount (e.g. 0.05 for 5%) on top of all other rules.
+         */
+        public Builder clientDiscount(String clientID, BigDecimal discountPercentage) {
+            clientDiscounts.put(clientID, discountPercentage);
+            return this;
+        }
+
+        public SalePricingRules build() {
+            // Tier 0 is "no volume discount"; an explicit rule at threshold 0 replaces it
+            TreeMap<Integer, BigDecimal> allTiers = new TreeMap<>(tiers);
+            allTiers.putIfAbsent(0, BigDecimal.ZERO);
+            int tierCount = allTiers.size();
+            int[] thresholds = new int[tierCount];
+            BigDecimal[] tierFactors = new BigDecimal[tierCount];
+            int t = 0;
+            for (Map.Entry<Integer, BigDecimal> entry : allTiers.entrySet()) {
+                thresholds[t] = entry.getKey();
+                tierFactors[t] = BigDecimal.ONE.subtract(entry.getValue());
+                t++;
+            }
+
+            PublicationType[] types = PublicationType.values();
+            PageSize[] sizes = PageSize.values();
+            BigDecimal[] factors = new BigDecimal[types.length * sizes.length * tierCount];
+            for (PublicationType type : types) {
+                BigDecimal typeSurcharge = typeSurcharges.getOrDefault(type, BigDecimal.ZERO);
+                for (PageSize size : sizes) {
+                    BigDecimal surcharge = BigDecimal.ONE.add(typeSurcharge)
+                            .add(sizeSurcharges.getOrDefault(size, BigDecimal.ZERO));
+                    int base = (type.ordinal() * sizes.length + size.ordinal()) * tierCount;
+                    for (int i = 0; i < tierCount; i++) {
+                        factors[base + i] = surcharge.multiply(tierFactors[i]);
+                    }
+                }
+            }
+
+            Map<String, BigDecimal> clientFactors = new HashMap<>();
+            for (Map.Entry<String, BigDecimal> entry : clientDiscounts.entrySet()) {
+                clientFactors.put(entry.getKey(), BigDecimal.ONE.subtract(entry.getValue()));
+            }
+            return new SalePricingRules(thresholds, factors, clientFactors);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.Newspaper;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * An append-only, memory-mapped log of individual sales.
+ * <p>
+ * Each sale is a fixed 24-byte record (publication ID, copies, unit price in minor units, timestamp in epoch millis)
+ * stored off-heap in the mapped file, so the ledger can hold billions of entries without touching the GC budget.
+ * The file is mapped in fixed-size segments that are added as it grows.
+ * Publications are numbered in order of first appearance, telling apart publications that only differ in price
+ * (see {@link PublicationKey}). The numbering is kept in a small sidecar file ({@code <ledger>.pubs}), each entry
+ * being the publication's fields written with {@link DataOutputStream#writeUTF}, so that a reopened ledger
+ * resolves the same IDs whatever characters the titles contain.
+ * <p>
+ * Appends are serialized; scans may run concurrently with appends and see every record appended before they started.
+ */
+public class SalesLedger implements Closeable {
+    public static final int RECORD_BYTES = 24;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAGIC = 0x53414C45; // "SALE"
+    private static final int FORMAT_VERSION = 2; // 2: binary publication sidecar
+    private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 22; // 96 MiB per segment
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int recordsPerSegment;
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final Map<PublicationKey, Integer> publicationIds = new HashMap<>();
+    private final List<Publication> publications = new CopyOnWriteArrayList<>();
+    private final DataOutputStream publicationWriter;
+    private volatile long size;
+
+    private SalesLedger(Path file, int recordsPerSegment) throws IOException {
+        this.recordsPerSegment = recordsPerSegment;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (header.getInt(0) == 0) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, FORMAT_VERSION);
+            header.putLong(8, 0);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a sales ledger");
+        }
+        this.size = header.getLong(8);
+        for (long mapped = 0; mapped < size; mapped += recordsPerSegment) {
+            mapNextSegment();
+        }
+
+        Path pubsFile = Path.of(file + ".pubs");
+        if (Files.exists(pubsFile)) {
+            try (InputStream in = Files.newInputStream(pubsFile)) {
+                DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+                while (true) {
+                    String type;
+                    try {
+                        type = data.readUTF();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    register(readPublication(type, data));
+                }
+            }
+        }
+        this.publicationWriter = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(pubsFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Opens a ledger file, creating it if it does not exist.
+     */
+    public static SalesLedger open(Path file) throws IOException {
+        return new SalesLedger(file, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Opens a ledger file with a custom segment size. A file must always be reopened with the segment size it was created with.
+     */
+    public static SalesLedger open(Path file, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0 || (long) recordsPerSegment * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + recordsPerSegment);
+        }
+        return new SalesLedger(file, recordsPerSegment);
+    }
+
+    /**
+     * Appends one sale and returns its index.
+     */
+    public synchronized long append(Publication publication, int copies, long unitPriceMinor, long timestampMillis) {
+        try {
+            int publicationId = idOf(publication);
+            long index = size;
+            int segment = (int) (index / recordsPerSegment);
+            if (segment == segments.size()) {
+                mapNextSegment();
+            }
+            int offset = (int) (index % recordsPerSegment) * RECORD_BYTES;
+            MappedByteBuffer buffer = segments.get(segment);
+            buffer.putInt(offset, publicationId);
+            buffer.putInt(offset + 4, copies);
+            buffer.putLong(offset + 8, unitPriceMinor);
+            buffer.putLong(offset + 16, timestampMillis);
+            // Publish the record only after it has been fully written
+            header.putLong(8, index + 1);
+            size = index + 1;
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int idOf(Publication publication) throws IOException {
+        Integer id = publicationIds.get(PublicationKey.of(publication));
+        if (id != null) {
+            return id;
+        }
+        publicationWriter.writeUTF(publication.getType().name());
+        publicationWriter.writeUTF(publication.getTitle());
+        publicationWriter.writeUTF(String.valueOf(publication.getPageCount()));
+        publicationWriter.writeUTF(publication.getPageSize().name());
+        publicationWriter.writeUTF(publication.getBasePricePerCopy().toPlainString());
+        publicationWriter.flush();
+        return register(publication);
+    }
+
+    /**
+     * Rebuilds a publication from the fields written by {@link #idOf}, exactly as they were stored:
+     * unlike {@link OrderParser}, titles are neither trimmed nor required to be non-blank.
+     */
+    private static Publication readPublication(String type, DataInputStream data) throws IOException {
+        String title = data.readUTF();
+        int pageCount = Integer.parseInt(data.readUTF());
+        PageSize pageSize = PageSize.valueOf(data.readUTF());
+        BigDecimal price = new BigDecimal(data.readUTF());
+        return switch (PublicationType.valueOf(type)) {
+            case BOOK -> new Book(title, pageCount, pageSize, price);
+            case NEWSPAPER -> new Newspaper(title, pageCount, pageSize, price);
+            case POSTER -> new Poster(title, pageSize, price);
+        };
+    }
+
+    private int register(Publication publication) {
+        int id = publications.size();
+        publications.add(publication);
+        publicationIds.put(PublicationKey.of(publication), id);
+        return id;
+    }
+
+    private void mapNextSegment() throws IOException {
+        long position = HEADER_BYTES + (long) segments.size() * recordsPerSegment * RECORD_BYTES;
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, (long) recordsPerSegment * RECORD_BYTES));
+    }
+
+    /**
+     * Visits records in [from, to) in order on the calling thread.
+     */
+    public void scan(long from, long to, SaleRecordVisitor visitor) {
+        checkRange(from, to);
+        long index = from;
+        while (index < to) {
+            int segment = (int) (index / recordsPerSegment);
+            long segmentEnd = Math.min(to, (long) (segment + 1) * recordsPerSegment);
+            MappedByteBuffer buffer = segments.get(segment);
+            for (; index < segmentEnd; index++) {
+                int offset = (int) (index % recordsPerSegment) * RECORD_BYTES;
+                visitor.visit(index, buffer.getInt(offset), buffer.getInt(offset + 4),
+                        buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+            }
+        }
+    }
+
+    /**
+     * Scans records in [from, to) on all cores. The range is split into segment-sized pieces;
+     * each piece is visited by its own visitor from {@code visitorFactory}, and the visitors are then merged with {@code combiner}.
+     */
+    public <V extends SaleRecordVisitor> V parallelScan(long from, long to, Supplier<V> visitorFactory, BinaryOperator<V> combiner) {
+        checkRange(from, to);
+        if (from == to) {
+            return visitorFactory.get();
+        }
+        long firstPiece = from / recordsPerSegment;
+        long lastPiece = (to - 1) / recordsPerSegment;
+        return LongStream.rangeClosed(firstPiece, lastPiece)
+                .parallel()
+                .mapToObj(piece -> {
+                    V visitor = visitorFactory.get();
+                    scan(Math.max(from, piece * recordsPerSegment), Math.min(to, (piece + 1) * recordsPerSegment), visitor);
+                    return visitor;
+                })
+                .reduce(combiner)
+                .orElseGet(visitorFactory);
+    }
+
+    private void checkRange(long from, long to) {
+        if (from < 0 || from > to || to > size) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") outside ledger of size " + size);
+        }
+    }
+
+    /**
+     * Returns the number of records in the ledger.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the publication with the given ledger ID.
+     */
+    public Publication publicationOf(int publicationId) {
+        return publications.get(publicationId);
+    }
+
+    /**
+     * Returns a copy of the ledger's publications; each publication's index is its ledger ID.
+     */
+    public List<Publication> getPublications() {
+        return List.copyOf(publications);
+    }
+
+    /**
+     * Flushes the mapped records to disk and releases the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        List<MappedByteBuffer> toForce = new ArrayList<>(segments);
+        for (MappedByteBuffer segment : toForce) {
+            segment.force();
+        }
+        header.force();
+        publicationWriter.close();
+        channel.close();
+    }
+
+    /**
+     * Receives the fields of one ledger record. Primitive parameters keep scans free of per-record allocation.
+     */
+    @FunctionalInterface
+    public interface SaleRecordVisitor {
+        void visit(long index, int publicationId, int copies, long unitPriceMinor, long timestampMillis);
+    }
+}
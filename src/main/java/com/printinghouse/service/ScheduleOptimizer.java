@@ -0,0 +1,243 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.FleetSchedule;
+import com.printinghouse.model.order.PrintJob;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns an order book of print jobs to a fleet of machines, aiming for a short makespan
+ * (the time until the busiest machine is done).
+ * <p>
+ * A job may only go to a machine that supports color if it needs color, whose loaded paper size
+ * matches the publication (machines with no paper loaded accept any size), and whose paper capacity
+ * holds all of the job's sheets, since a job must have all its paper loaded at once. A job takes
+ * {@code sheets / pagesPerMinute} minutes on a machine.
+ * <p>
+ * The initial schedule uses the LPT (longest processing time first) heuristic. It is then improved by
+ * local search: the jobs on the busiest machine are examined in parallel for the best move to another machine
+ * or, failing that, the best swap with a job elsewhere, until nothing improves or the time limit is reached.
+ */
+public class ScheduleOptimizer {
+    private static final double EPSILON = 1e-9;
+
+    public static FleetSchedule optimize(List<PrintJob> jobs, List<PrintingMachine> machines, long timeLimitMillis) {
+        return new Search(jobs, machines).run(System.currentTimeMillis() + timeLimitMillis);
+    }
+
+    /**
+     * A candidate move of job {@code job} from the busiest machine to {@code target},
+     * swapped with {@code swapJob} when that is not -1. {@code score} is the larger of the two resulting loads.
+     */
+    private record Candidate(double score, int job, int target, int swapJob) {
+    }
+
+    private static class Search {
+        private final List<PrintJob> jobs;
+        private final List<PrintingMachine> machines;
+        private final long[] sheets;
+        private final boolean[] needsColor;
+        private final int[] size;
+        private final double[] pagesPerMinute;
+        private final boolean[] hasColor;
+        private final int[] loadedSize; // -1 when any size is accepted
+        private final long[] capacity;
+        private final double[] load;
+        private final int[] machineOf;
+        private final List<List<Integer>> machineJobs = new ArrayList<>();
+        private final List<PrintJob> unassignable = new ArrayList<>();
+
+        Search(List<PrintJob> jobs, List<PrintingMachine> machines) {
+            this.jobs = jobs;
+            this.machines = machines;
+            int n = jobs.size();
+            int m = machines.size();
+            sheets = new long[n];
+            needsColor = new boolean[n];
+            size = new int[n];
+            for (int j = 0; j < n; j++) {
+                PrintJob job = jobs.get(j);
+                sheets[j] = job.sheets();
+                needsColor[j] = job.useColor();
+                size[j] = job.publication().getPageSize().ordinal();
+            }
+            pagesPerMinute = new double[m];
+            hasColor = new boolean[m];
+            loadedSize = new int[m];
+            capacity = new long[m];
+            for (int k = 0; k < m; k++) {
+                PrintingMachine machine = machines.get(k);
+                pagesPerMinute[k] = machine.getPagesPerMinute();
+                hasColor[k] = machine.isColor();
+                loadedSize[k] = machine.getLoadedPaper() == null ? -1 : machine.getLoadedPaper().pageSize().ordinal();
+                capacity[k] = machine.getMaxPaperCapacity();
+                machineJobs.add(new ArrayList<>());
+            }
+            load = new double[m];
+            machineOf = new int[n];
+            Arrays.fill(machineOf, -1);
+        }
+
+        private boolean eligible(int job, int machine) {
+            return (!needsColor[job] || hasColor[machine])
+                    && (loadedSize[machine] < 0 || loadedSize[machine] == size[job])
+                    && sheets[job] <= capacity[machine]
+                    && pagesPerMinute[machine] > 0;
+        }
+
+        private double duration(int job, int machine) {
+            return sheets[job] / pagesPerMinute[machine];
+        }
+
+        FleetSchedule run(long deadline) {
+            assignLongestFirst();
+            while (System.currentTimeMillis() < deadline) {
+                int busiest = busiestMachine();
+                if (busiest < 0) {
+                    break;
+                }
+                Candidate best = bestMove(busiest);
+                if (best == null) {
+                    best = bestSwap(busiest);
+                }
+                if (best == null) {
+                    break;
+                }
+                apply(busiest, best);
+            }
+            return toSchedule();
+        }
+
+        private void assignLongestFirst() {
+            Integer[] order = new Integer[jobs.size()];
+            for (int j = 0; j < order.length; j++) {
+                order[j] = j;
+            }
+            Arrays.sort(order, Comparator.comparingLong((Integer j) -> sheets[j]).reversed());
+            for (int j : order) {
+                int bestMachine = -1;
+                double bestFinish = Double.MAX_VALUE;
+                for (int k = 0; k < load.length; k++) {
+                    if (eligible(j, k)) {
+                        double finish = load[k] + duration(j, k);
+                        if (finish < bestFinish) {
+                            bestFinish = finish;
+                            bestMachine = k;
+                        }
+                    }
+                }
+                if (bestMachine < 0) {
+                    unassignable.add(jobs.get(j));
+                } else {
+                    assign(j, bestMachine);
+                }
+            }
+        }
+
+        private int busiestMachine() {
+            int busiest = -1;
+            for (int k = 0; k < load.length; k++) {
+                if (busiest < 0 || load[k] > load[busiest]) {
+                    busiest = k;
+                }
+            }
+            return busiest;
+        }
+
+        private Candidate bestMove(int busiest) {
+            List<Integer> candidates = machineJobs.get(busiest);
+            double current = load[busiest];
+            return IntStream.range(0, candidates.size()).parallel()
+                    .mapToObj(i -> {
+                        int j = candidates.get(i);
+                        double remaining = current - duration(j, busiest);
+                        Candidate best = null;
+                        for (int k = 0; k < load.length; k++) {
+                            if (k == busiest || !eligible(j, k)) continue;
+                            double score = Math.max(remaining, load[k] + duration(j, k));
+                            if (score < current - EPSILON && (best == null || score < best.score)) {
+                                best = new Candidate(score, j, k, -1);
+                            }
+                        }
+                        return best;
+                    })
+                    .filter(c -> c != null)
+                    .min(Comparator.comparingDouble(Candidate::score))
+                    .orElse(null);
+        }
+
+        private Candidate bestSwap(int busiest) {
+            List<Integer> candidates = machineJobs.get(busiest);
+            double current = load[busiest];
+            return IntStream.range(0, candidates.size()).parallel()
+                    .mapToObj(i -> {
+                        int j = candidates.get(i);
+                        double withoutJ = current - duration(j, busiest);
+                        Candidate best = null;
+                        for (int k = 0; k < load.length; k++) {
+                            if (k == busiest || !eligible(j, k)) continue;
+                            for (int q : machineJobs.get(k)) {
+                                if (!eligible(q, busiest)) continue;
+                                double newBusiest = withoutJ + duration(q, busiest);
+                                double newOther = load[k] - duration(q, k) + duration(j, k);
+                                double score = Math.max(newBusiest, newOther);
+                                if (score < current - EPSILON && (best == null || score < best.score)) {
+                                    best = new Candidate(score, j, k, q);
+                                }
+                            }
+                        }
+                        return best;
+                    })
+                    .filter(c -> c != null)
+                    .min(Comparator.comparingDouble(Candidate::score))
+                    .orElse(null);
+        }
+
+        private void apply(int busiest, Candidate move) {
+            unassign(move.job);
+            assign(move.job, move.target);
+            if (move.swapJob >= 0) {
+                unassign(move.swapJob);
+                assign(move.swapJob, busiest);
+            }
+        }
+
+        private void assign(int job, int machine) {
+            machineOf[job] = machine;
+            machineJobs.get(machine).add(job);
+            load[machine] += duration(job, machine);
+        }
+
+        private void unassign(int job) {
+            int machine = machineOf[job];
+            List<Integer> list = machineJobs.get(machine);
+            int index = list.indexOf(job);
+            // Order within a machine does not matter, so swap with the last element to remove in O(1)
+            list.set(index, list.get(list.size() - 1));
+            list.remove(list.size() - 1);
+            load[machine] -= duration(job, machine);
+            machineOf[job] = -1;
+        }
+
+        private FleetSchedule toSchedule() {
+            Map<String, List<PrintJob>> assignments = new LinkedHashMap<>();
+            double makespan = 0;
+            for (int k = 0; k < machines.size(); k++) {
+                List<PrintJob> assigned = new ArrayList<>();
+                for (int j : machineJobs.get(k)) {
+                    assigned.add(jobs.get(j));
+                }
+                assignments.put(machines.get(k).getMachineID(), List.copyOf(assigned));
+                makespan = Math.max(makespan, load[k]);
+            }
+            return new FleetSchedule(assignments, makespan, List.copyOf(unassignable));
+        }
+    }
+}
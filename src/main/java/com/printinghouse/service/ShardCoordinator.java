@@ -0,0 +1,192 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Partitions sales and paper inventory across several {@link ShardWorker}s and merges their reports.
+ * Publications are routed by a hash of their identity that is stable across JVMs, so every sale of
+ * a publication lands on the same worker; paper is routed the same way by type and size.
+ * Requests to different workers run in parallel, while requests to one worker share its single connection.
+ */
+public class ShardCoordinator implements AutoCloseable {
+    private final List<Connection> workers = new ArrayList<>();
+
+    public ShardCoordinator(List<InetSocketAddress> workerAddresses) throws IOException {
+        try {
+            for (InetSocketAddress address : workerAddresses) {
+                workers.add(new Connection(address));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the index of the worker that owns a publication.
+     */
+    public int shardOf(Publication publication) {
+        return Math.floorMod(ShardProtocol.stableHash(publication), workers.size());
+    }
+
+    public void recordSale(Publication publication, int copies) throws IOException {
+        recordSales(List.of(new SaleOrder(publication, copies)));
+    }
+
+    /**
+     * Sends a batch of sales, one message per worker, to all involved workers in parallel.
+     */
+    public void recordSales(List<SaleOrder> orders) throws IOException {
+        List<List<SaleOrder>> byShard = new ArrayList<>();
+        for (int i = 0; i < workers.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (SaleOrder order : orders) {
+            byShard.get(shardOf(order.publication())).add(order);
+        }
+        forEachShard(shard -> {
+            List<SaleOrder> shardOrders = byShard.get(shard);
+            if (shardOrders.isEmpty()) {
+                return;
+            }
+            workers.get(shard).call(out -> {
+                out.writeByte(ShardProtocol.OP_SALES);
+                out.writeInt(shardOrders.size());
+                for (SaleOrder order : shardOrders) {
+                    ShardProtocol.writePublication(out, order.publication());
+                    out.writeInt(order.copies());
+                }
+            }, in -> null);
+        });
+    }
+
+    public void addPaperToInventory(Paper paper, int amount) throws IOException {
+        int shard = Math.floorMod(ShardProtocol.stableHash(paper), workers.size());
+        workers.get(shard).call(out -> {
+            out.writeByte(ShardProtocol.OP_ADD_PAPER);
+            ShardProtocol.writePaper(out, paper);
+            out.writeInt(amount);
+        }, in -> null);
+    }
+
+    /**
+     * Collects every worker's report in parallel and merges them:
+     * revenue and expenses are summed, and copies are summed per title.
+     */
+    public FinancialReport collectReport() throws IOException {
+        FinancialReport[] partials = new FinancialReport[workers.size()];
+        forEachShard(shard -> partials[shard] = workers.get(shard).call(
+                out -> out.writeByte(ShardProtocol.OP_REPORT),
+                in -> {
+                    BigDecimal revenue = new BigDecimal(in.readUTF());
+                    BigDecimal expenses = new BigDecimal(in.readUTF());
+                    int count = in.readInt();
+                    Map<String, Integer> sales = new HashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        sales.put(in.readUTF(), in.readInt());
+                    }
+                    return new FinancialReport(revenue, expenses, sales);
+                }));
+
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal expenses = BigDecimal.ZERO;
+        Map<String, Integer> sales = new HashMap<>();
+        for (FinancialReport partial : partials) {
+            revenue = revenue.add(partial.totalRevenue());
+            expenses = expenses.add(partial.totalExpenses());
+            partial.publicationsSold().forEach((title, copies) -> sales.merge(title, copies, Integer::sum));
+        }
+        return new FinancialReport(revenue, expenses, sales);
+    }
+
+    public int getShardCount() {
+        return workers.size();
+    }
+
+    private void forEachShard(ShardTask task) throws IOException {
+        try {
+            IntStream.range(0, workers.size()).parallel().forEach(shard -> {
+                try {
+                    task.run(shard);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Connection worker : workers) {
+            worker.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardTask {
+        void run(int shard) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RequestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static class Connection {
+        private final InetSocketAddress address;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(InetSocketAddress address) throws IOException {
+            this.address = address;
+            this.socket = new Socket(address.getAddress(), address.getPort());
+            this.socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        synchronized <T> T call(RequestWriter request, ResponseReader<T> response) throws IOException {
+            request.write(out);
+            out.flush();
+            byte status = in.readByte();
+            if (status != ShardProtocol.STATUS_OK) {
+                throw new IOException("Worker " + address + " failed: " + in.readUTF());
+            }
+            return response.read(in);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing left to clean up
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The binary protocol spoken between a {@link ShardCoordinator} and its {@link ShardWorker}s.
+ * <p>
+ * Every request starts with an opcode byte and every response with a status byte;
+ * an error status is followed by a message. Publications are sent as
+ * type (byte), title (UTF), page count (int), page size (byte), base price (UTF).
+ */
+final class ShardProtocol {
+    static final byte OP_SALES = 1;       // int count, then count x (publication, int copies)
+    static final byte OP_ADD_PAPER = 2;   // byte paperType, byte pageSize, int amount
+    static final byte OP_REPORT = 3;      // -> UTF revenue, UTF expenses, int count, count x (UTF title, int copies)
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;   // -> UTF message
+
+    private ShardProtocol() {
+    }
+
+    static void writePublication(DataOutputStream out, Publication publication) throws IOException {
+        out.writeByte(publication.getType().ordinal());
+        out.writeUTF(publication.getTitle());
+        out.writeInt(publication.getPageCount());
+        out.writeByte(publication.getPageSize().ordinal());
+        out.writeUTF(publication.getBasePricePerCopy().toPlainString());
+    }
+
+    static Publication readPublication(DataInputStream in) throws IOException {
+        PublicationType type = PublicationType.values()[in.readUnsignedByte()];
+        String title = in.readUTF();
+        int pageCount = in.readInt();
+        PageSize size = PageSize.values()[in.readUnsignedByte()];
+        String price = in.readUTF();
+        return OrderParser.parsePublication(type.name(), title, String.valueOf(pageCount), size.name(), price);
+    }
+
+    static void writePaper(DataOutputStream out, Paper paper) throws IOException {
+        out.writeByte(paper.paperType().ordinal());
+        out.writeByte(paper.pageSize().ordinal());
+    }
+
+    static Paper readPaper(DataInputStream in) throws IOException {
+        return new Paper(PaperType.values()[in.readUnsignedByte()], PageSize.values()[in.readUnsignedByte()]);
+    }
+
+    /**
+     * A hash of a publication's identity that is the same in every JVM,
+     * unlike Publication.hashCode(), which mixes in enum identity hash codes.
+     */
+    static int stableHash(Publication publication) {
+        return (publication.getTitle().hashCode() * 31 + publication.getPageCount()) * 31
+                + publication.getPageSize().ordinal();
+    }
+
+    static int stableHash(Paper paper) {
+        return paper.paperType().ordinal() * 31 + paper.pageSize().ordinal();
+    }
+}
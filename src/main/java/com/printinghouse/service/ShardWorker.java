@@ -0,0 +1,173 @@
+package com.printinghouse.service;
+
+import com.printinghouse.model.HouseSnapshot;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.publication.Publication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves one partition of a sharded printing house over a local TCP socket (see {@link ShardProtocol}).
+ * A worker can run inside another process's JVM or on its own through {@link #main(String[])}.
+ */
+public class ShardWorker implements AutoCloseable {
+    private final PrintingHouse house;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+
+    /**
+     * Binds a worker to a loopback port. Use port 0 to bind to any free port.
+     */
+    public ShardWorker(PrintingHouse house, int port) throws IOException {
+        this.house = house;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "shard-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        connections.execute(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.execute(() -> serve(socket));
+                } catch (IOException e) {
+                    // The server socket was closed
+                }
+            }
+        });
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public PrintingHouse getHouse() {
+        return house;
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return; // Coordinator disconnected
+                }
+                handle(op, in, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Connection dropped; the coordinator will see the failure on its side
+        }
+    }
+
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case ShardProtocol.OP_SALES -> {
+                int count = in.readInt();
+                List<SaleOrder> orders = new ArrayList<>(count);
+                String error = null;
+                for (int i = 0; i < count; i++) {
+                    try {
+                        Publication publication = ShardProtocol.readPublication(in);
+                        orders.add(new SaleOrder(publication, in.readInt()));
+                    } catch (IllegalArgumentException e) {
+                        in.readInt(); // Skip the copies of the bad row and keep the stream aligned
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    writeError(out, error);
+                } else {
+                    house.recordSales(orders);
+                    out.writeByte(ShardProtocol.STATUS_OK);
+                }
+            }
+            case ShardProtocol.OP_ADD_PAPER -> {
+                Paper paper = ShardProtocol.readPaper(in);
+                house.addPaperToInventory(paper, in.readInt());
+                out.writeByte(ShardProtocol.STATUS_OK);
+            }
+            case ShardProtocol.OP_REPORT -> {
+                HouseSnapshot snapshot = house.snapshot();
+                // Titles are merged here so the report matches FinancialReport's per-title shape
+                Map<String, Integer> byTitle = new HashMap<>();
+                for (Map.Entry<Publication, Integer> entry : snapshot.publicationsSold().entrySet()) {
+                    byTitle.merge(entry.getKey().getTitle(), entry.getValue(), Integer::sum);
+                }
+                out.writeByte(ShardProtocol.STATUS_OK);
+                out.writeUTF(snapshot.totalRevenue().toPlainString());
+                out.writeUTF(snapshot.totalExpenses().toPlainString());
+                out.writeInt(byTitle.size());
+                for (Map.Entry<String, Integer> entry : byTitle.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+            default -> throw new IOException("Unknown opcode " + op);
+        }
+    }
+
+    private static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(ShardProtocol.STATUS_ERROR);
+        out.writeUTF(message == null ? "Unknown error" : message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    /**
+     * Runs a standalone worker process.
+     * Arguments: {@code port [discountThreshold discountPercentage]}.
+     * Prints {@code READY <port>} once it is accepting connections.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        int discountThreshold = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        BigDecimal discount = args.length > 2 ? new BigDecimal(args[2]) : BigDecimal.ZERO;
+
+        PrintingHouse house = new PrintingHouse("Shard " + port,
+                new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, discountThreshold, discount));
+        ShardWorker worker = new ShardWorker(house, port);
+        worker.start();
+        System.out.println("READY " + worker.getPort());
+        System.out.flush();
+        // Exit when the parent closes our stdin
+        while (System.in.read() != -1) {
+            // Ignore input
+        }
+        worker.close();
+    }
+}
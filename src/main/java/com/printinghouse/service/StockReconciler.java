@@ -0,0 +1,144 @@
+package com.printinghouse.service;
+
+import com.printinghouse.event.DomainEvent;
+import com.printinghouse.event.JobPrinted;
+import com.printinghouse.event.SaleRecorded;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.publication.Publication;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Reconciles printed copies against sold copies as print and sale events arrive.
+ * <p>
+ * For every publication it keeps the balance of copies printed minus copies sold.
+ * A positive balance is unsold stock; a negative one means more copies were sold than printed (a shortfall).
+ * The set of short publications and the total shortfall and surplus are adjusted on every event,
+ * so all queries except {@link #getShortPublications()} take constant time however large the catalogue.
+ * Publications whose balance returns to zero are forgotten.
+ * <p>
+ * Events for different publications are counted in parallel: each update only locks its own publication's entry.
+ * While events are arriving, the totals may briefly lag behind the individual balances.
+ */
+public class StockReconciler implements Consumer<DomainEvent> {
+    private final ConcurrentHashMap<Publication, Long> balances = new ConcurrentHashMap<>();
+    private final Set<Publication> shortPublications = ConcurrentHashMap.newKeySet();
+    private final LongAdder totalShortfall = new LongAdder();
+    private final LongAdder totalSurplus = new LongAdder();
+
+    /**
+     * Creates a reconciler for the house's current stock and registers it for the house's events.
+     * The balances start from every machine's printed jobs and the house's sales so far.
+     * The house and all its machines are locked while they are read and the reconciler is registered,
+     * so no print or sale is counted twice or missed.
+     */
+    public static StockReconciler attach(PrintingHouse house) {
+        StockReconciler reconciler = new StockReconciler();
+        synchronized (house) {
+            reconciler.seedAndListen(house, house.getMachines(), 0);
+        }
+        return reconciler;
+    }
+
+    /**
+     * Takes the lock of each machine from {@code index} on (always after the house lock, like every print),
+     * then counts the existing state and registers for events.
+     */
+    private void seedAndListen(PrintingHouse house, List<PrintingMachine> machines, int index) {
+        if (index < machines.size()) {
+            PrintingMachine machine = machines.get(index);
+            synchronized (machine) {
+                seedAndListen(house, machines, index + 1);
+            }
+            return;
+        }
+        for (PrintingMachine machine : machines) {
+            for (Map.Entry<Publication, Integer> entry : machine.getPrintedJobs().entrySet()) {
+                adjust(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<Publication, Integer> entry : house.getPublicationsSold().entrySet()) {
+            adjust(entry.getKey(), -entry.getValue());
+        }
+        house.addEventListener(this);
+    }
+
+    @Override
+    public void accept(DomainEvent event) {
+        if (event instanceof JobPrinted printed) {
+            adjust(printed.publication(), printed.copies());
+        } else if (event instanceof SaleRecorded sale) {
+            adjust(sale.publication(), -sale.copies());
+        }
+    }
+
+    private void adjust(Publication publication, long delta) {
+        // The totals and the short set are updated inside compute, so updates to one publication never interleave
+        balances.compute(publication, (key, current) -> {
+            long before = current == null ? 0 : current;
+            long after = before + delta;
+
+            totalShortfall.add(Math.max(0, -after) - Math.max(0, -before));
+            totalSurplus.add(Math.max(0, after) - Math.max(0, before));
+            if (after < 0) {
+                shortPublications.add(key);
+            } else if (before < 0) {
+                shortPublications.remove(key);
+            }
+            return after == 0 ? null : after;
+        });
+    }
+
+    /**
+     * Returns copies printed minus copies sold for a publication.
+     */
+    public long getBalance(Publication publication) {
+        return balances.getOrDefault(publication, 0L);
+    }
+
+    /**
+     * Returns true if more copies of the publication were sold than printed.
+     */
+    public boolean isShort(Publication publication) {
+        return shortPublications.contains(publication);
+    }
+
+    public int getShortCount() {
+        return shortPublications.size();
+    }
+
+    /**
+     * Returns the copies sold but never printed, over all publications.
+     */
+    public long getTotalShortfall() {
+        return totalShortfall.sum();
+    }
+
+    /**
+     * Returns the copies printed but not yet sold, over all publications.
+     */
+    public long getTotalSurplus() {
+        return totalSurplus.sum();
+    }
+
+    /**
+     * Returns a copy of the publications that are short, with their shortfall in copies.
+     */
+    public Map<Publication, Long> getShortPublications() {
+        Map<Publication, Long> result = new HashMap<>();
+        for (Publication publication : shortPublications) {
+            long balance = getBalance(publication);
+            if (balance < 0) {
+                result.put(publication, -balance);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,258 @@
+package com.printinghouse.simulation;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.employee.Manager;
+import com.printinghouse.model.employee.Operator;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.Newspaper;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+import com.printinghouse.service.PricingService;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a printing house with a reproducible synthetic workload.
+ * <p>
+ * A seeded random catalogue of books, newspapers and posters across all page sizes is generated up front.
+ * Each client then runs on its own thread and issues sales, print jobs, paper loads and report saves
+ * at the configured target rates, choosing what to do and with which publication from its own seeded random mix.
+ * Clients are paced open-loop: if the house falls behind, the next operations start late and that delay
+ * shows up in the latencies instead of silently lowering the load.
+ */
+public class LoadGenerator {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final WorkloadConfig config;
+    private final PrintingHouse house;
+    private final List<PrintingMachine> machines = new ArrayList<>();
+    private final Map<PrintingMachine, Paper> machinePaper = new HashMap<>();
+    private final List<Publication> catalogue = new ArrayList<>();
+    private final Map<PageSize, List<Publication>> catalogueBySize = new EnumMap<>(PageSize.class);
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    public LoadGenerator(WorkloadConfig config) {
+        this.config = config;
+        this.house = newHouse();
+        for (Operation operation : OPERATIONS) {
+            latencies.put(operation, new LatencyHistogram());
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+
+        PageSize[] sizes = PageSize.values();
+        PaperType[] paperTypes = PaperType.values();
+        for (int i = 0; i < config.machines(); i++) {
+            PrintingMachine machine = new PrintingMachine("SIM-" + i, i % 2 == 0, 60 + 20 * (i % 4), 10000);
+            Paper paper = new Paper(paperTypes[i % paperTypes.length], sizes[i % sizes.length]);
+            house.addMachine(machine);
+            house.addPaperToInventory(paper, 100_000_000);
+            machines.add(machine);
+            machinePaper.put(machine, paper);
+        }
+
+        Random random = new Random(config.seed());
+        PublicationType[] types = PublicationType.values();
+        for (PageSize size : sizes) {
+            catalogueBySize.put(size, new ArrayList<>());
+        }
+        for (int i = 0; i < config.titles(); i++) {
+            PageSize size = sizes[random.nextInt(sizes.length)];
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(950), 2);
+            Publication publication = switch (types[random.nextInt(types.length)]) {
+                case BOOK -> new Book("Book " + i, 50 + random.nextInt(450), size, price);
+                case NEWSPAPER -> new Newspaper("Newspaper " + i, 8 + random.nextInt(56), size, price);
+                case POSTER -> new Poster("Poster " + i, size, price);
+            };
+            catalogue.add(publication);
+            catalogueBySize.get(size).add(publication);
+        }
+    }
+
+    private static PrintingHouse newHouse() {
+        PricingService pricing = new PricingService(Map.of(
+                PaperType.PLAIN, new BigDecimal("0.05"),
+                PaperType.GLOSSY, new BigDecimal("0.10"),
+                PaperType.NEWSPAPER, new BigDecimal("0.03")
+        ), new BigDecimal("0.15"));
+        PrintingHouse house = new PrintingHouse("Soak Test House", pricing,
+                new PrintingHouseConfig(new BigDecimal("10000.00"), 1000, new BigDecimal("0.05")));
+        house.addEmployee(new Manager("Soak Manager", "M-SIM", new BigDecimal("60000.00"), new BigDecimal("0.10")));
+        house.addEmployee(new Operator("Soak Operator", "O-SIM", new BigDecimal("40000.00")));
+        return house;
+    }
+
+    /**
+     * Runs the workload for the configured duration and returns the final report.
+     */
+    public LoadReport run() throws IOException, InterruptedException {
+        Files.createDirectories(config.reportDirectory());
+        long[] gcBefore = gcTotals();
+        long start = System.nanoTime();
+        long end = start + config.durationMillis() * 1_000_000;
+
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < config.clients(); i++) {
+            int client = i;
+            Thread thread = new Thread(() -> runClient(client, start, end), "soak-client-" + i);
+            thread.setDaemon(true);
+            clients.add(thread);
+            thread.start();
+        }
+
+        if (config.progressIntervalMillis() > 0) {
+            long intervalNanos = config.progressIntervalMillis() * 1_000_000;
+            for (long next = start + intervalNanos; next < end; next += intervalNanos) {
+                waitUntil(next);
+                System.out.print(report(start, gcBefore).format());
+                System.out.println();
+            }
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        return report(start, gcBefore);
+    }
+
+    private void runClient(int client, long start, long end) {
+        Random random = new Random(config.seed() * 31 + client + 1);
+        double totalRate = config.totalRate();
+        if (totalRate == 0) {
+            return;
+        }
+        long intervalNanos = Math.max(1, (long) (1_000_000_000 / totalRate));
+        String clientID = "client-" + client;
+        String reportFile = config.reportDirectory().resolve("report-" + clientID + ".txt").toString();
+
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            waitUntil(scheduled);
+            Operation operation = pick(random, totalRate);
+            try {
+                if (!perform(operation, random, clientID, reportFile)) {
+                    rejected.get(operation).increment();
+                }
+            } catch (Exception e) {
+                errors.get(operation).increment();
+            }
+            latencies.get(operation).record(System.nanoTime() - scheduled);
+        }
+    }
+
+    private static void waitUntil(long nanoTime) {
+        // parkNanos may return early, so keep parking until the deadline has passed
+        for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private Operation pick(Random random, double totalRate) {
+        double roll = random.nextDouble() * totalRate;
+        for (Operation operation : OPERATIONS) {
+            roll -= config.rate(operation);
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.SALE;
+    }
+
+    /**
+     * Performs one operation. Returns false if the house refused it.
+     */
+    private boolean perform(Operation operation, Random random, String clientID, String reportFile) throws IOException {
+        switch (operation) {
+            case SALE -> {
+                Publication publication = catalogue.get(random.nextInt(catalogue.size()));
+                house.recordSale(publication, 1 + random.nextInt(2000), clientID);
+                return true;
+            }
+            case PRINT -> {
+                PrintingMachine machine = machines.get(random.nextInt(machines.size()));
+                List<Publication> printable = catalogueBySize.get(machinePaper.get(machine).pageSize());
+                if (printable.isEmpty()) {
+                    return false;
+                }
+                Publication publication = printable.get(random.nextInt(printable.size()));
+                boolean useColor = machine.isColor() && random.nextBoolean();
+                // tryPrint is the same job as printPublication without an exception and console line per rejection
+                return MachineStatus.of(machine.tryPrint(publication, 1 + random.nextInt(20), useColor)) == MachineStatus.OK;
+            }
+            case LOAD_PAPER -> {
+                PrintingMachine machine = machines.get(random.nextInt(machines.size()));
+                Paper paper = machinePaper.get(machine);
+                int room = machine.getMaxPaperCapacity() - machine.getCurrentPaperLoad();
+                int amount = house.takePaperFromInventory(paper, room);
+                if (amount == 0) {
+                    return false;
+                }
+                if (MachineStatus.of(machine.tryLoad(paper, amount)) != MachineStatus.OK) {
+                    // Another client filled the machine first
+                    house.addPaperToInventory(paper, amount);
+                    return false;
+                }
+                return true;
+            }
+            case SAVE_REPORT -> {
+                house.calculateTotalExpenses();
+                house.saveReport(reportFile);
+                return true;
+            }
+        }
+        throw new IllegalStateException("Unknown operation " + operation);
+    }
+
+    private LoadReport report(long start, long[] gcBefore) {
+        Map<Operation, LoadReport.OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram histogram = latencies.get(operation);
+            stats.put(operation, new LoadReport.OperationStats(
+                    histogram.getCount(), rejected.get(operation).sum(), errors.get(operation).sum(),
+                    histogram.percentile(0.50), histogram.percentile(0.90), histogram.percentile(0.99),
+                    histogram.percentile(0.999), histogram.getMax()));
+        }
+        long[] gcNow = gcTotals();
+        return new LoadReport((System.nanoTime() - start) / 1_000_000, stats,
+                gcNow[0] - gcBefore[0], gcNow[1] - gcBefore[1],
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // Collectors report -1 when a value is unavailable
+            count += Math.max(0, collector.getCollectionCount());
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    public PrintingHouse getHouse() {
+        return house;
+    }
+
+    public List<Publication> getCatalogue() {
+        return List.copyOf(catalogue);
+    }
+}
@@ -0,0 +1,63 @@
+package com.printinghouse.simulation;
+
+import java.util.Map;
+
+/**
+ * The results of a {@link LoadGenerator} run, or of the run so far for interim reports.
+ *
+ * @param elapsedMillis  Wall-clock time covered by the report.
+ * @param operations     Statistics for each operation type.
+ * @param gcCount        Garbage collections during the run, over all collectors.
+ * @param gcTimeMillis   Time spent in garbage collection during the run.
+ * @param heapUsedBytes  Heap in use when the report was taken.
+ */
+public record LoadReport(
+        long elapsedMillis,
+        Map<Operation, OperationStats> operations,
+        long gcCount,
+        long gcTimeMillis,
+        long heapUsedBytes
+) {
+
+    /**
+     * Statistics for one operation type. Latencies are in nanoseconds and are measured from when the operation
+     * was scheduled to start, so time spent waiting behind a slow call counts against the system.
+     *
+     * @param completed Operations that ran, including rejected ones.
+     * @param rejected  Operations the house refused, e.g. a print without enough paper loaded.
+     * @param errors    Operations that failed with an unexpected exception.
+     */
+    public record OperationStats(long completed, long rejected, long errors,
+                                 long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+
+    public long totalCompleted() {
+        return operations.values().stream().mapToLong(OperationStats::completed).sum();
+    }
+
+    public long totalErrors() {
+        return operations.values().stream().mapToLong(OperationStats::errors).sum();
+    }
+
+    public double throughputPerSecond() {
+        return elapsedMillis == 0 ? 0 : totalCompleted() * 1000.0 / elapsedMillis;
+    }
+
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Elapsed: %.1f s, throughput: %.1f ops/s, errors: %d%n",
+                elapsedMillis / 1000.0, throughputPerSecond(), totalErrors()));
+        text.append(String.format("%-12s %10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Operation", "Completed", "Rejected", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<Operation, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            text.append(String.format("%-12s %10d %9d %7d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    entry.getKey(), stats.completed(), stats.rejected(), stats.errors(),
+                    stats.p50Nanos() / 1e6, stats.p90Nanos() / 1e6, stats.p99Nanos() / 1e6,
+                    stats.p999Nanos() / 1e6, stats.maxNanos() / 1e6));
+        }
+        text.append(String.format("GC: %d collections, %d ms; heap used: %.1f MB%n",
+                gcCount, gcTimeMillis, heapUsedBytes / (1024.0 * 1024.0)));
+        return text.toString();
+    }
+}
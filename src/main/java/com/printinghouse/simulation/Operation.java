@@ -0,0 +1,11 @@
+package com.printinghouse.simulation;
+
+/**
+ * The operations a simulated client performs against the printing house.
+ */
+public enum Operation {
+    SALE,
+    PRINT,
+    LOAD_PAPER,
+    SAVE_REPORT
+}
@@ -0,0 +1,107 @@
+package com.printinghouse.simulation;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for a {@link LoadGenerator} run.
+ * Rates are target operations per second for each client; a rate of 0 disables that operation.
+ *
+ * @param seed                   Seeds the catalogue and every client's order mix, so runs are reproducible.
+ * @param clients                The number of concurrent clients.
+ * @param durationMillis         How long the run lasts.
+ * @param progressIntervalMillis How often an interim report is printed, or 0 for none.
+ * @param machines               The number of machines in the simulated fleet.
+ * @param titles                 The number of distinct publications in the catalogue.
+ * @param reportDirectory        Where clients write their financial reports.
+ */
+public record WorkloadConfig(
+        long seed,
+        int clients,
+        long durationMillis,
+        long progressIntervalMillis,
+        int machines,
+        int titles,
+        double salesPerSecond,
+        double printsPerSecond,
+        double loadsPerSecond,
+        double reportsPerSecond,
+        Path reportDirectory
+) {
+    public WorkloadConfig {
+        if (clients <= 0 || machines <= 0 || titles <= 0) {
+            throw new IllegalArgumentException("Clients, machines and titles must be positive.");
+        }
+        if (salesPerSecond < 0 || printsPerSecond < 0 || loadsPerSecond < 0 || reportsPerSecond < 0) {
+            throw new IllegalArgumentException("Rates cannot be negative.");
+        }
+    }
+
+    public static WorkloadConfig defaults() {
+        return new WorkloadConfig(1, 8, 60_000, 10_000, 10, 500, 200, 50, 20, 1,
+                Path.of(System.getProperty("java.io.tmpdir"), "printinghouse-soak"));
+    }
+
+    /**
+     * Parses {@code --key=value} arguments on top of {@link #defaults()}, e.g.
+     * {@code --clients=16 --duration=600 --sales=500}. Durations are given in seconds.
+     */
+    public static WorkloadConfig fromArgs(String[] args) {
+        WorkloadConfig config = defaults();
+        long seed = config.seed;
+        int clients = config.clients;
+        long durationMillis = config.durationMillis;
+        long progressIntervalMillis = config.progressIntervalMillis;
+        int machines = config.machines;
+        int titles = config.titles;
+        double sales = config.salesPerSecond;
+        double prints = config.printsPerSecond;
+        double loads = config.loadsPerSecond;
+        double reports = config.reportsPerSecond;
+        Path reportDirectory = config.reportDirectory;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (key) {
+                    case "seed" -> seed = Long.parseLong(value);
+                    case "clients" -> clients = Integer.parseInt(value);
+                    case "duration" -> durationMillis = Long.parseLong(value) * 1000;
+                    case "progress" -> progressIntervalMillis = Long.parseLong(value) * 1000;
+                    case "machines" -> machines = Integer.parseInt(value);
+                    case "titles" -> titles = Integer.parseInt(value);
+                    case "sales" -> sales = Double.parseDouble(value);
+                    case "prints" -> prints = Double.parseDouble(value);
+                    case "loads" -> loads = Double.parseDouble(value);
+                    case "reports" -> reports = Double.parseDouble(value);
+                    case "reportDir" -> reportDirectory = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: --" + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for --" + key + ": " + value);
+            }
+        }
+        return new WorkloadConfig(seed, clients, durationMillis, progressIntervalMillis, machines, titles,
+                sales, prints, loads, reports, reportDirectory);
+    }
+
+    public double rate(Operation operation) {
+        return switch (operation) {
+            case SALE -> salesPerSecond;
+            case PRINT -> printsPerSecond;
+            case LOAD_PAPER -> loadsPerSecond;
+            case SAVE_REPORT -> reportsPerSecond;
+        };
+    }
+
+    /**
+     * Returns the combined target rate of one client.
+     */
+    public double totalRate() {
+        return salesPerSecond + printsPerSecond + loadsPerSecond + reportsPerSecond;
+    }
+}
@@ -0,0 +1,121 @@
+package com.printinghouse;
+
+import com.printinghouse.exception.NotEnoughPaperException;
+import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.AsyncPrintingService;
+import com.printinghouse.service.FileService;
+import com.printinghouse.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncPrintingServiceTest {
+
+    private PrintingHouse house;
+    private AsyncPrintingService service;
+    private final Publication book = new Book("Test Book", 10, PageSize.A4, new BigDecimal("2.00"));
+
+    @BeforeEach
+    void setUp() {
+        PricingService pricing = new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.10")), BigDecimal.ZERO);
+        PrintingHouseConfig config = new PrintingHouseConfig(BigDecimal.ZERO, 1000, BigDecimal.ZERO);
+        house = new PrintingHouse("Async House", pricing, config);
+        service = new AsyncPrintingService(house);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void testConcurrentSalesAreAllRecorded() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(service.recordSaleAsync(book, 1));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(1000, house.getPublicationsSold().get(book).intValue());
+        assertEquals(0, new BigDecimal("2000").compareTo(house.getTotalRevenue()));
+    }
+
+    @Test
+    void testConcurrentPrintsOnOneMachineAreSerialized() throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 10000);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 10000);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(service.submitPrint(machine, book, 10, false)); // 100 sheets each
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(0, machine.getCurrentPaperLoad());
+        assertEquals(1000, machine.getPrintedJobs().get(book).intValue());
+    }
+
+    @Test
+    void testPrintsOnOneMachineRunInSubmissionOrderOnFewThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (AsyncPrintingService bounded = new AsyncPrintingService(house, pool)) {
+            PrintingMachine machine = new PrintingMachine("M-01", false, 100, 20000);
+            machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 20000);
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                futures.add(bounded.submitPrint(machine, book, 1, false)); // 10 sheets each
+            }
+            // Submitted last, so it only runs once the 2000 jobs before it have used up the paper
+            CompletableFuture<Void> last = bounded.submitPrint(machine, book, 1, false);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+            ExecutionException e = assertThrows(ExecutionException.class, last::get);
+            assertInstanceOf(NotEnoughPaperException.class, e.getCause());
+            assertEquals(2000, machine.getPrintedJobs().get(book).intValue());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPrintFailureCompletesExceptionally() {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 10000);
+        CompletableFuture<Void> future = service.submitPrint(machine, book, 1, false); // No paper loaded
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(NotEnoughPaperException.class, e.getCause());
+    }
+
+    @Test
+    void testSaveReportAsync(@TempDir Path tempDir) throws Exception {
+        String filename = tempDir.resolve("report.txt").toString();
+        service.recordSaleAsync(book, 5)
+                .thenCompose(v -> service.saveReportAsync(filename))
+                .get();
+
+        FinancialReport report = FileService.loadReport(filename);
+        assertEquals(5, report.publicationsSold().get("Test Book").intValue());
+    }
+}
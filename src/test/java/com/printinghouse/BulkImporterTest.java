@@ -0,0 +1,121 @@
+package com.printinghouse;
+
+import com.printinghouse.model.ImportResult;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.BulkImporter;
+import com.printinghouse.service.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkImporterTest {
+
+    private PrintingHouse house;
+    private BulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        PricingService pricing = new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.10")), BigDecimal.ZERO);
+        PrintingHouseConfig config = new PrintingHouseConfig(BigDecimal.ZERO, 1000, BigDecimal.ZERO);
+        house = new PrintingHouse("Import House", pricing, config);
+        importer = new BulkImporter(house);
+    }
+
+    @Test
+    void testImportSalesReportsMalformedRows(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales.csv");
+        Files.writeString(file, String.join("\n",
+                "# type,title,pageCount,pageSize,basePricePerCopy,copies",
+                "BOOK,Manual,100,A4,2.00,5",
+                "POSTER,Concert,1,A2,1.50,10",
+                "BOOK,Manual,100,A9,2.00,5",      // bad page size
+                "BOOK,Manual,100,A4,2.00",        // missing column
+                "BOOK,Manual,100,A4,2.00,3"));
+
+        ImportResult result = importer.importSales(file);
+
+        assertEquals(5, result.rowsRead());
+        assertEquals(3, result.rowsApplied());
+        assertEquals(2, result.errorCount());
+        assertEquals(4, result.errors().get(0).line());
+        assertEquals(5, result.errors().get(1).line());
+
+        Publication manual = new Book("Manual", 100, PageSize.A4, new BigDecimal("2.00"));
+        Publication concert = new Poster("Concert", PageSize.A2, new BigDecimal("1.50"));
+        assertEquals(8, house.getPublicationsSold().get(manual).intValue());
+        assertEquals(10, house.getPublicationsSold().get(concert).intValue());
+        assertEquals(0, new BigDecimal("31.00").compareTo(house.getTotalRevenue()));
+        assertEquals(2, importer.getCatalogue().size());
+    }
+
+    @Test
+    void testLargeFileSpanningSeveralChunks(@TempDir Path tempDir) throws Exception {
+        int rows = 200_000; // Roughly 6 MB, more than one chunk
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= rows; i++) {
+            if (i == 150_000) {
+                sb.append("BOOK,Broken,x,A4,1.00,1\n");
+            } else {
+                sb.append("BOOK,Title ").append(i % 100).append(",10,A4,1.00,1\n");
+            }
+        }
+        Path file = tempDir.resolve("big.csv");
+        Files.writeString(file, sb);
+
+        ImportResult result = importer.importSales(file);
+
+        assertEquals(rows, result.rowsRead());
+        assertEquals(rows - 1, result.rowsApplied());
+        assertEquals(1, result.errorCount());
+        assertEquals(150_000, result.errors().get(0).line());
+        assertEquals(100, importer.getCatalogue().size());
+        assertEquals(0, BigDecimal.valueOf(rows - 1).compareTo(house.getTotalRevenue()));
+    }
+
+    @Test
+    void testImportPrintsRunsJobsAndReportsRejections(@TempDir Path tempDir) throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 1000);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 250);
+        house.addMachine(machine);
+
+        Path file = tempDir.resolve("prints.csv");
+        Files.writeString(file, String.join("\n",
+                "M-01,BOOK,Manual,100,A4,2.00,2,false",
+                "M-01,BOOK,Manual,100,A4,2.00,1,false",  // only 50 sheets left
+                "M-02,BOOK,Manual,100,A4,2.00,1,false")); // unknown machine
+
+        ImportResult result = importer.importPrints(file);
+
+        assertEquals(3, result.rowsRead());
+        assertEquals(1, result.rowsApplied());
+        assertEquals(2, result.errorCount());
+        assertEquals(50, machine.getCurrentPaperLoad());
+    }
+
+    @Test
+    void testRowsDifferingOnlyInPriceStayDistinct(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales.csv");
+        Files.writeString(file, "BOOK,X,10,A4,2.00,1\nBOOK,X,10,A4,5.00,1\nBOOK,X,10,A4,2.0,1\n");
+
+        ImportResult result = importer.importSales(file);
+
+        assertEquals(3, result.rowsApplied());
+        assertEquals(2, importer.getCatalogue().size());
+        assertEquals(0, new BigDecimal("9.00").compareTo(house.getTotalRevenue()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.printinghouse;
+
+import com.printinghouse.event.DomainEvent;
+import com.printinghouse.event.DomainEventPublisher;
+import com.printinghouse.event.JobPrinted;
+import com.printinghouse.event.PaperAdded;
+import com.printinghouse.event.SaleRecorded;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.service.PricingService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DomainEventPublisherTest {
+
+    private static PrintingHouse newHouse() {
+        return new PrintingHouse("Event House",
+                new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.05")), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+    }
+
+    /**
+     * Records every batch it receives and requests {@code demand} batches up front, then one more per batch
+     * if {@code keepRequesting} is set.
+     */
+    private static class CollectingSubscriber implements Flow.Subscriber<List<DomainEvent>> {
+        final List<List<DomainEvent>> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        private final long demand;
+        private final boolean keepRequesting;
+        private Flow.Subscription subscription;
+
+        CollectingSubscriber(long demand, boolean keepRequesting) {
+            this.demand = demand;
+            this.keepRequesting = keepRequesting;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(List<DomainEvent> batch) {
+            batches.add(batch);
+            if (keepRequesting) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        List<DomainEvent> events() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    @Test
+    void testEventsAreDeliveredInBatches() throws Exception {
+        PrintingHouse house = newHouse();
+        PrintingMachine machine = new PrintingMachine("M-1", false, 100, 10000);
+        house.addMachine(machine);
+        Paper paper = new Paper(PaperType.PLAIN, PageSize.A4);
+        Book book = new Book("Evented", 10, PageSize.A4, new BigDecimal("2.00"));
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(1, true);
+        DomainEventPublisher publisher = new DomainEventPublisher(house, 10, 8, 5);
+        publisher.subscribe(subscriber);
+
+        house.addPaperToInventory(paper, 500);
+        machine.loadPaper(paper, 500);
+        machine.printPublication(book, 5, false);
+        for (int i = 0; i < 25; i++) {
+            house.recordSale(book, 1, "client-" + i);
+        }
+        publisher.close();
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+
+        List<DomainEvent> events = subscriber.events();
+        assertEquals(27, events.size());
+        assertInstanceOf(PaperAdded.class, events.get(0));
+        JobPrinted printed = assertInstanceOf(JobPrinted.class, events.get(1));
+        assertEquals(50, printed.sheets());
+        SaleRecorded sale = assertInstanceOf(SaleRecorded.class, events.get(2));
+        assertEquals("client-0", sale.clientID());
+        assertEquals(0, new BigDecimal("2.00").compareTo(sale.salePrice()));
+        assertTrue(subscriber.batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(0, publisher.getDroppedEvents());
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().equals("domain-events")));
+    }
+
+    @Test
+    void testCloseKeepsTheInterruptStatus() {
+        PrintingHouse house = newHouse();
+        DomainEventPublisher publisher = new DomainEventPublisher(house, 10, 8, 5);
+        CollectingSubscriber subscriber = new CollectingSubscriber(1, true);
+        publisher.subscribe(subscriber);
+
+        Thread.currentThread().interrupt();
+        publisher.close();
+
+        assertTrue(Thread.interrupted());
+        house.recordSale(new Book("Late", 10, PageSize.A4, new BigDecimal("1.00")), 1);
+        assertEquals(0, publisher.getPublishedEvents());
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotBlockSales() throws Exception {
+        PrintingHouse house = newHouse();
+        Book book = new Book("Busy", 10, PageSize.A4, new BigDecimal("1.00"));
+
+        // Asks for a single batch and then stops reading
+        CollectingSubscriber stalled = new CollectingSubscriber(1, false);
+        DomainEventPublisher publisher = new DomainEventPublisher(house, 100, 4, 1);
+        publisher.subscribe(stalled);
+
+        for (int i = 0; i < 100_000; i++) {
+            house.recordSale(book, 1);
+        }
+        publisher.close();
+
+        assertEquals(0, new BigDecimal("100000").compareTo(house.getTotalRevenue()));
+        assertTrue(publisher.getDroppedEvents() > 0);
+        assertTrue(stalled.batches.size() <= 1);
+    }
+}
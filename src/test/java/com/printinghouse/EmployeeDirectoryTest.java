@@ -0,0 +1,86 @@
+package com.printinghouse;
+
+import com.printinghouse.model.employee.Employee;
+import com.printinghouse.model.employee.EmployeeDirectory;
+import com.printinghouse.model.employee.Manager;
+import com.printinghouse.model.employee.Operator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeDirectoryTest {
+
+    private static final BigDecimal THRESHOLD = new BigDecimal("1000");
+    private static final BigDecimal LOW_REVENUE = new BigDecimal("500");
+    private static final BigDecimal HIGH_REVENUE = new BigDecimal("5000");
+
+    private EmployeeDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new EmployeeDirectory();
+        directory.add(new Operator("Op 1", "O-1", new BigDecimal("100")));
+        directory.add(new Operator("Op 2", "O-2", new BigDecimal("150")));
+        directory.add(new Manager("Mgr", "M-1", new BigDecimal("200"), new BigDecimal("0.50")));
+    }
+
+    @Test
+    void testLookupByIdAndRole() {
+        assertEquals("Op 2", directory.find("O-2").getName());
+        assertNull(directory.find("missing"));
+        assertEquals(List.of("O-1", "O-2"),
+                directory.getByRole(Operator.class).stream().map(Employee::getEmployeeID).toList());
+        assertEquals("M-1", directory.getByRole(Manager.class).get(0).getEmployeeID());
+        assertThrows(IllegalArgumentException.class,
+                () -> directory.add(new Operator("Dup", "O-1", BigDecimal.ONE)));
+    }
+
+    @Test
+    void testPayrollFollowsChanges() {
+        assertEquals(0, new BigDecimal("450").compareTo(directory.payroll(LOW_REVENUE, THRESHOLD)));
+        assertEquals(0, new BigDecimal("550").compareTo(directory.payroll(HIGH_REVENUE, THRESHOLD)));
+
+        directory.setBaseSalary("M-1", new BigDecimal("400")); // Bonus becomes 200
+        assertEquals(0, new BigDecimal("850").compareTo(directory.payroll(HIGH_REVENUE, THRESHOLD)));
+
+        directory.remove("O-1");
+        assertEquals(0, new BigDecimal("750").compareTo(directory.payroll(HIGH_REVENUE, THRESHOLD)));
+        assertEquals(2, directory.size());
+
+        // Promoting an operator moves them to the manager role and keeps their position
+        directory.update(new Manager("Op 2", "O-2", new BigDecimal("150"), new BigDecimal("0.10")));
+        assertTrue(directory.getByRole(Operator.class).isEmpty());
+        assertEquals(2, directory.getByRole(Manager.class).size());
+        assertEquals("O-2", directory.getAll().get(0).getEmployeeID());
+        assertEquals(0, new BigDecimal("765").compareTo(directory.payroll(HIGH_REVENUE, THRESHOLD)));
+        assertEquals(0, new BigDecimal("550").compareTo(directory.payroll(LOW_REVENUE, THRESHOLD)));
+    }
+
+    @Test
+    void testPayrollMatchesPerEmployeeSum() {
+        EmployeeDirectory large = new EmployeeDirectory();
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal salary = BigDecimal.valueOf(1000 + i % 997);
+            if (i % 10 == 0) {
+                Manager manager = new Manager("M" + i, "M-" + i, salary, new BigDecimal("0.05"));
+                large.add(manager);
+                expected = expected.add(manager.calculateSalary(HIGH_REVENUE, THRESHOLD));
+            } else {
+                large.add(new Operator("O" + i, "O-" + i, salary));
+                expected = expected.add(salary);
+            }
+        }
+        for (int i = 0; i < 100_000; i += 3) {
+            String id = (i % 10 == 0 ? "M-" : "O-") + i;
+            Employee removed = large.remove(id);
+            expected = expected.subtract(removed instanceof Manager manager
+                    ? manager.calculateSalary(HIGH_REVENUE, THRESHOLD) : removed.calculateSalary());
+        }
+        assertEquals(0, expected.compareTo(large.payroll(HIGH_REVENUE, THRESHOLD)));
+    }
+}
@@ -1,21 +1,29 @@
 package com.printinghouse;
 
 import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.HouseSnapshot;
 import com.printinghouse.model.PrintingHouse;
 import com.printinghouse.model.PrintingHouseConfig;
 import com.printinghouse.model.publication.Book;
 import com.printinghouse.model.publication.PageSize;
 import com.printinghouse.service.FileService;
 import com.printinghouse.service.PricingService;
+import com.printinghouse.service.ReportIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class FileServiceTest {
 
@@ -47,4 +55,176 @@ public class FileServiceTest {
         assertEquals(1, report.publicationsSold().size());
         assertEquals(25, report.publicationsSold().get("Test Book").intValue());
     }
+
+    @Test
+    void testReportsStayConsistentWhileSalesContinue(@TempDir Path tempDir) throws Exception {
+        PricingService pricing = new PricingService(Map.of(), BigDecimal.ZERO);
+        PrintingHouseConfig config = new PrintingHouseConfig(BigDecimal.ZERO, 0, BigDecimal.ZERO);
+        PrintingHouse house = new PrintingHouse("Busy House", pricing, config);
+        Book first = new Book("First", 10, PageSize.A4, new BigDecimal("10.00"));
+        Book second = new Book("Second", 10, PageSize.A4, new BigDecimal("10.00"));
+
+        Thread seller = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                house.recordSale(i % 2 == 0 ? first : second, 1);
+            }
+        });
+        seller.start();
+
+        String filename = tempDir.resolve("report.txt").toString();
+        for (int i = 0; i < 50; i++) {
+            house.saveReport(filename);
+            FinancialReport report = FileService.loadReport(filename);
+            int copies = report.publicationsSold().values().stream().mapToInt(Integer::intValue).sum();
+            // Every copy costs 10.00, so the revenue must match the per-title lines exactly
+            assertEquals(0, new BigDecimal("10.00").multiply(BigDecimal.valueOf(copies)).compareTo(report.totalRevenue()));
+        }
+        seller.join();
+
+        HouseSnapshot snapshot = house.snapshot();
+        assertEquals(20_000, snapshot.epoch());
+        assertEquals(0, new BigDecimal("200000").compareTo(snapshot.totalRevenue()));
+    }
+
+    @Test
+    void testLoadEmptyReport(@TempDir Path tempDir) throws Exception {
+        String filename = tempDir.resolve("empty.txt").toString();
+        PrintingHouse house = new PrintingHouse("Empty House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, 0, BigDecimal.ZERO));
+        house.saveReport(filename);
+
+        FinancialReport report = FileService.loadReport(filename);
+        assertEquals(0, report.publicationsSold().size());
+    }
+
+    @Test
+    void testIndexLooksUpTitles(@TempDir Path tempDir) throws Exception {
+        String filename = tempDir.resolve("report.txt").toString();
+        PrintingHouse house = new PrintingHouse("Indexed House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        for (int i = 0; i < 1000; i++) {
+            house.recordSale(new Book("Title " + i, 10, PageSize.A4, new BigDecimal("1.00")), i + 1);
+        }
+        // Two publications with the same title are reported together
+        house.recordSale(new Book("Title 5", 20, PageSize.A3, new BigDecimal("1.00")), 100);
+        house.recordSale(new Book("Énciclopédie", 10, PageSize.A4, new BigDecimal("1.00")), 7);
+        house.saveReport(filename);
+
+        ReportIndex index = ReportIndex.open(Path.of(filename + ".idx"));
+        assertEquals(1001, index.size());
+        assertEquals(0, house.getTotalRevenue().compareTo(index.getTotalRevenue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(index.getTotalExpenses()));
+        assertEquals(1, index.getCopies("Title 0"));
+        assertEquals(106, index.getCopies("Title 5"));
+        assertEquals(1000, index.getCopies("Title 999"));
+        assertEquals(7, index.getCopies("Énciclopédie"));
+        assertEquals(0, index.getCopies("Missing"));
+
+        // Saving again replaces the file, while the old mapping keeps answering
+        house.recordSale(new Book("Title 0", 10, PageSize.A4, new BigDecimal("1.00")), 10);
+        house.saveReport(filename);
+        assertEquals(1, index.getCopies("Title 0"));
+        assertEquals(11, ReportIndex.open(Path.of(filename + ".idx")).getCopies("Title 0"));
+        assertTrue(index.getTotalRevenue().compareTo(house.getTotalRevenue()) < 0);
+    }
+
+    @Test
+    void testConcurrentSavesToOneNameLeaveAMatchingReportAndIndex(@TempDir Path tempDir) throws Exception {
+        String filename = tempDir.resolve("report.txt").toString();
+        PrintingHouse house = new PrintingHouse("Busy House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        Book book = new Book("Book", 10, PageSize.A4, new BigDecimal("1.00"));
+
+        List<Thread> savers = new ArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread saver = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 25; i++) {
+                        house.recordSale(book, 1);
+                        house.saveReport(filename);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            savers.add(saver);
+            saver.start();
+        }
+        for (Thread saver : savers) {
+            saver.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.toString());
+        FinancialReport report = FileService.loadReport(filename);
+        ReportIndex index = ReportIndex.open(Path.of(filename + ".idx"));
+        assertEquals(report.publicationsSold().get("Book").longValue(), index.getCopies("Book"));
+        assertEquals(0, report.totalRevenue().compareTo(index.getTotalRevenue()));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count()); // No temporary files left behind
+        }
+    }
+
+    @Test
+    void testConcurrentIndexWritesToOnePath(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("report.idx");
+        PrintingHouse house = new PrintingHouse("Index House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        house.recordSale(new Book("Book", 10, PageSize.A4, new BigDecimal("1.00")), 3);
+        HouseSnapshot snapshot = house.snapshot();
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        ReportIndex.write(snapshot, file);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.toString());
+        assertEquals(3, ReportIndex.open(file).getCopies("Book"));
+    }
+
+    @Test
+    void testIndexKeepsTitlesThatUtf8CannotEncode(@TempDir Path tempDir) throws Exception {
+        String filename = tempDir.resolve("report.txt").toString();
+        PrintingHouse house = new PrintingHouse("Odd House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        // UTF-8 would turn the unpaired surrogate into '?', the same bytes as the second title
+        house.recordSale(new Book("Bad\uD800", 10, PageSize.A4, new BigDecimal("1.00")), 2);
+        house.recordSale(new Book("Bad?", 10, PageSize.A4, new BigDecimal("1.00")), 3);
+        house.recordSale(new Book("Book \uD83D\uDCD6", 10, PageSize.A4, new BigDecimal("1.00")), 4);
+        house.saveReport(filename);
+
+        ReportIndex index = ReportIndex.open(Path.of(filename + ".idx"));
+        assertEquals(3, index.size());
+        assertEquals(2, index.getCopies("Bad\uD800"));
+        assertEquals(3, index.getCopies("Bad?"));
+        assertEquals(4, index.getCopies("Book \uD83D\uDCD6"));
+    }
+
+    @Test
+    void testSavedReportGetsDefaultPermissions(@TempDir Path tempDir) throws Exception {
+        assumeTrue(tempDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        // A file written in place shows the permissions the process creates files with
+        Path baseline = Files.writeString(tempDir.resolve("baseline.txt"), "");
+        String filename = tempDir.resolve("report.txt").toString();
+        PrintingHouse house = new PrintingHouse("Shared House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        house.saveReport(filename);
+
+        assertEquals(Files.getPosixFilePermissions(baseline), Files.getPosixFilePermissions(Path.of(filename)));
+        assertEquals(Files.getPosixFilePermissions(baseline), Files.getPosixFilePermissions(Path.of(filename + ".idx")));
+    }
 }
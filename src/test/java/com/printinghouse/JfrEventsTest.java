@@ -0,0 +1,113 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.employee.Operator;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.service.FileService;
+import com.printinghouse.service.PaperRefillService;
+import com.printinghouse.service.PricingService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    void testOperationsEmitEvents() throws Exception {
+        PrintingHouse house = new PrintingHouse("JFR House",
+                new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.05")), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        house.addEmployee(new Operator("Op", "O-1", new BigDecimal("100")));
+        PrintingMachine machine = new PrintingMachine("M-JFR", false, 100, 1000);
+        house.addMachine(machine);
+        Paper paper = new Paper(PaperType.PLAIN, PageSize.A4);
+        house.addPaperToInventory(paper, 5000);
+        Book book = new Book("Recorded Book", 10, PageSize.A4, new BigDecimal("2.00"));
+        String report = tempDir.resolve("report.txt").toString();
+
+        Path dump = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("PrintJob", "PaperLoad", "PaperRefill", "Sale",
+                    "ExpenseCalculation", "ReportSave", "FileIo")) {
+                recording.enable("com.printinghouse." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            machine.loadPaper(paper, 500);
+            machine.printPublication(book, 5, false);          // 50 sheets
+            assertEquals(MachineStatus.COLOR_NOT_SUPPORTED, MachineStatus.of(machine.tryPrint(book, 100, true)));
+            try (PaperRefillService refill = new PaperRefillService(house, 0.5, 60_000)) {
+                refill.checkAll();
+            }
+            house.recordSale(book, 3, "client-1");
+            house.saveReport(report);
+            FileService.loadReport(report);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        List<RecordedEvent> prints = eventsNamed(events, "com.printinghouse.PrintJob");
+        assertEquals(2, prints.size());
+        assertEquals("M-JFR", prints.get(0).getString("machineID"));
+        assertEquals(50, prints.get(0).getLong("sheets"));
+        assertEquals("OK", prints.get(0).getString("status"));
+        assertEquals("COLOR_NOT_SUPPORTED", prints.get(1).getString("status"));
+
+        assertEquals(500, eventsNamed(events, "com.printinghouse.PaperLoad").get(0).getInt("sheets"));
+        assertFalse(eventsNamed(events, "com.printinghouse.PaperRefill").isEmpty());
+
+        RecordedEvent sale = eventsNamed(events, "com.printinghouse.Sale").get(0);
+        assertEquals(3, sale.getInt("copies"));
+        assertEquals("client-1", sale.getString("clientID"));
+        assertEquals(6.0, sale.getDouble("salePrice"), 1e-9);
+
+        assertFalse(eventsNamed(events, "com.printinghouse.ExpenseCalculation").isEmpty());
+        assertEquals(report, eventsNamed(events, "com.printinghouse.ReportSave").get(0).getString("filename"));
+
+        List<RecordedEvent> io = eventsNamed(events, "com.printinghouse.FileIo");
+        assertTrue(io.stream().anyMatch(e -> e.getString("operation").equals("write") && e.getString("path").equals(report)
+                && e.getLong("bytes") > 0));
+        assertTrue(io.stream().anyMatch(e -> e.getString("operation").equals("write") && e.getString("path").endsWith(".idx")));
+        assertTrue(io.stream().anyMatch(e -> e.getString("operation").equals("read")));
+    }
+
+    @Test
+    void testThresholdFiltersFastEvents() throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-FAST", false, 100, 1000);
+        Path dump = tempDir.resolve("threshold.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.printinghouse.PaperLoad").withThreshold(Duration.ofSeconds(10));
+            recording.start();
+            machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 10);
+            recording.stop();
+            recording.dump(dump);
+        }
+        assertTrue(eventsNamed(RecordingFile.readAllEvents(dump), "com.printinghouse.PaperLoad").isEmpty());
+    }
+}
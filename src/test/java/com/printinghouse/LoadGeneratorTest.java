@@ -0,0 +1,60 @@
+package com.printinghouse;
+
+import com.printinghouse.simulation.LatencyHistogram;
+import com.printinghouse.simulation.LoadGenerator;
+import com.printinghouse.simulation.LoadReport;
+import com.printinghouse.simulation.Operation;
+import com.printinghouse.simulation.WorkloadConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WorkloadConfig config(long seed) {
+        return WorkloadConfig.fromArgs(new String[]{
+                "--seed=" + seed, "--clients=4", "--duration=1", "--progress=0", "--machines=5", "--titles=100",
+                "--sales=200", "--prints=100", "--loads=50", "--reports=5", "--reportDir=" + tempDir});
+    }
+
+    @Test
+    void testShortRunDrivesEveryOperation() throws Exception {
+        LoadGenerator generator = new LoadGenerator(config(7));
+        LoadReport report = generator.run();
+
+        for (Operation operation : Operation.values()) {
+            LoadReport.OperationStats stats = report.operations().get(operation);
+            assertTrue(stats.completed() > 0, operation + " never ran");
+            assertTrue(stats.p50Nanos() <= stats.p99Nanos() && stats.p99Nanos() <= stats.maxNanos());
+        }
+        assertEquals(0, report.totalErrors());
+        assertTrue(generator.getHouse().getTotalRevenue().signum() > 0);
+        assertTrue(Files.exists(tempDir.resolve("report-client-0.txt")));
+        assertFalse(report.format().isBlank());
+    }
+
+    @Test
+    void testCatalogueIsReproducibleFromSeed() {
+        assertEquals(new LoadGenerator(config(3)).getCatalogue(), new LoadGenerator(config(3)).getCatalogue());
+        assertNotEquals(new LoadGenerator(config(3)).getCatalogue(), new LoadGenerator(config(4)).getCatalogue());
+    }
+
+    @Test
+    void testHistogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_000, histogram.percentile(0.5), 50_000_000 * 0.125);
+        assertEquals(99_000_000, histogram.percentile(0.99), 99_000_000 * 0.125);
+    }
+}
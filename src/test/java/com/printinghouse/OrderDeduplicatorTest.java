@@ -0,0 +1,171 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.service.OrderDeduplicator;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.SalesLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderDeduplicatorTest {
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private long millis;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    @Test
+    void testDuplicatesAreDroppedWithinWindowAndForgottenAfter() {
+        ManualClock clock = new ManualClock();
+        OrderDeduplicator dedup = new OrderDeduplicator(Duration.ofHours(1), 1000, 1e-3, 1000, clock);
+
+        assertTrue(dedup.markIfNew("order-1"));
+        assertFalse(dedup.markIfNew("order-1"));
+        clock.advance(Duration.ofMinutes(90)); // Now in the second generation
+        assertFalse(dedup.markIfNew("order-1"));
+        assertTrue(dedup.markIfNew("order-2"));
+
+        clock.advance(Duration.ofMinutes(60)); // order-1's generation has been cleared
+        assertTrue(dedup.markIfNew("order-1"));
+        assertFalse(dedup.markIfNew("order-2"));
+
+        clock.advance(Duration.ofHours(5)); // Everything is stale
+        assertTrue(dedup.markIfNew("order-2"));
+        assertEquals(3, dedup.getDuplicates());
+    }
+
+    @Test
+    void testExactSetLetsBloomFalsePositivesThrough() {
+        // A tiny filter overloaded 100 times over reports nearly every ID as seen
+        OrderDeduplicator dedup = new OrderDeduplicator(Duration.ofHours(1), 10, 0.5, 10_000, new ManualClock());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(dedup.markIfNew("order-" + i), "order-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(dedup.markIfNew("order-" + i));
+        }
+        assertTrue(dedup.getFalsePositives() > 0);
+        assertEquals(1000, dedup.getAccepted());
+    }
+
+    @Test
+    void testBloomFilterStaysAccurateBeyondExactSet() {
+        OrderDeduplicator dedup = new OrderDeduplicator(Duration.ofHours(1), 200_000, 1e-4, 1000, new ManualClock());
+        int rejectedNew = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (!dedup.markIfNew("order-" + i)) {
+                rejectedNew++;
+            }
+        }
+        // Only the Bloom filter remembers the early IDs, so a few new orders may be mistaken for duplicates
+        assertTrue(rejectedNew < 100, "Rejected " + rejectedNew + " new orders");
+        for (int i = 0; i < 200_000; i += 1000) {
+            assertFalse(dedup.markIfNew("order-" + i));
+        }
+    }
+
+    @Test
+    void testFullGenerationRotatesBeforeTheWindowEnds() {
+        // Bloom filters only: every hit is trusted, so saturated filters would reject most new orders
+        OrderDeduplicator dedup = new OrderDeduplicator(Duration.ofHours(1), 1000, 1e-3, 0, new ManualClock());
+        int rejectedNew = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (!dedup.markIfNew("order-" + i)) {
+                rejectedNew++;
+            }
+        }
+        assertTrue(rejectedNew < 500, "Rejected " + rejectedNew + " new orders");
+        assertEquals(rejectedNew, dedup.getUnconfirmedDuplicates());
+        // The last generation's worth of IDs is still remembered
+        for (int i = 99_000; i < 100_000; i++) {
+            assertFalse(dedup.markIfNew("order-" + i));
+        }
+    }
+
+    @Test
+    void testDefaultsHandleMillionsOfOrders() {
+        OrderDeduplicator dedup = new OrderDeduplicator();
+        int rejectedNew = 0;
+        for (int i = 0; i < 3_000_000; i++) {
+            if (!dedup.markIfNew("order-" + i)) {
+                rejectedNew++;
+            }
+        }
+        assertTrue(rejectedNew < 100, "Rejected " + rejectedNew + " new orders");
+        assertEquals(rejectedNew, dedup.getUnconfirmedDuplicates());
+        assertFalse(dedup.markIfNew("order-0"));
+    }
+
+    @Test
+    void testFailedSaleCanBeRetried(@TempDir Path tempDir) throws Exception {
+        PrintingHouse house = new PrintingHouse("Dedup House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        Book book = new Book("Retried", 10, PageSize.A4, new BigDecimal("5.00"));
+
+        // A closed ledger cannot log the sale, so recording it fails
+        SalesLedger closed = SalesLedger.open(tempDir.resolve("sales.ledger"));
+        closed.close();
+        house.setSalesLedger(closed);
+        assertThrows(UncheckedIOException.class, () -> house.recordSale("A-1", book, 2, null));
+
+        house.setSalesLedger(null);
+        assertTrue(house.recordSale("A-1", book, 2, null));
+        assertFalse(house.recordSale("A-1", book, 2, null));
+        assertEquals(0, new BigDecimal("10.00").compareTo(house.getTotalRevenue()));
+    }
+
+    @Test
+    void testHouseDropsRetriedSales() {
+        PrintingHouse house = new PrintingHouse("Dedup House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        Book book = new Book("Retried", 10, PageSize.A4, new BigDecimal("5.00"));
+
+        assertTrue(house.recordSale("A-1", book, 2, null));
+        assertFalse(house.recordSale("A-1", book, 2, null));
+        assertTrue(house.recordSale("A-2", book, 1, "client-1"));
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(house.getTotalRevenue()));
+        assertEquals(3, house.getPublicationsSold().get(book).intValue());
+    }
+}
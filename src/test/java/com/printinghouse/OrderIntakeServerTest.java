@@ -0,0 +1,164 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.service.OrderBatcher;
+import com.printinghouse.service.OrderIntakeServer;
+import com.printinghouse.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIntakeServerTest {
+
+    private PrintingHouse house;
+    private PrintingMachine machine;
+    private OrderIntakeServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Book book = new Book("Manual", 10, PageSize.A4, new BigDecimal("2.00"));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PricingService pricing = new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.10")), BigDecimal.ZERO);
+        PrintingHouseConfig config = new PrintingHouseConfig(BigDecimal.ZERO, 1000, BigDecimal.ZERO);
+        house = new PrintingHouse("HTTP House", pricing, config);
+        machine = new PrintingMachine("M-01", false, 100, 1000);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        house.addMachine(machine);
+
+        server = new OrderIntakeServer(house, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> post(String path, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testCsvSales() throws Exception {
+        HttpResponse<String> response = post("/orders/sales", "text/csv",
+                "BOOK,Manual,10,A4,2.00,5\nBOOK,Manual,10,A4,2.00,3\n");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(8, house.getPublicationsSold().get(book).intValue());
+        assertEquals(0, new BigDecimal("16.00").compareTo(house.getTotalRevenue()));
+    }
+
+    @Test
+    void testJsonPrintsReportRejectedOrders() throws Exception {
+        String json = "[{\"machineID\":\"M-01\",\"type\":\"BOOK\",\"title\":\"Manual\",\"pageCount\":10,"
+                + "\"pageSize\":\"A4\",\"basePricePerCopy\":\"2.00\",\"copies\":5,\"useColor\":false},"
+                + "{\"machineID\":\"M-99\",\"type\":\"BOOK\",\"title\":\"Manual\",\"pageCount\":10,"
+                + "\"pageSize\":\"A4\",\"basePricePerCopy\":\"2.00\",\"copies\":5,\"useColor\":false}]";
+        HttpResponse<String> response = post("/orders/prints", "application/json", json);
+
+        assertEquals(422, response.statusCode());
+        assertTrue(response.body().contains("Accepted: 1"));
+        assertTrue(response.body().contains("Unknown machine M-99"));
+        assertEquals(950, machine.getCurrentPaperLoad());
+    }
+
+    @Test
+    void testMalformedCsvIsBadRequest() throws Exception {
+        HttpResponse<String> response = post("/orders/sales", "text/csv", "BOOK,Manual,ten,A4,2.00,5");
+        assertEquals(400, response.statusCode());
+        assertTrue(house.getPublicationsSold().isEmpty());
+    }
+
+    @Test
+    void testConcurrentRequestsAndSummary() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/orders/sales"))
+                    .POST(HttpRequest.BodyPublishers.ofString("BOOK,Manual,10,A4,2.00,1"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+
+        HttpResponse<String> summary = client.send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/summary")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(summary.body().contains("Manual (Copies: 50)"));
+    }
+
+    @Test
+    void testCancelledOrderIsNeverApplied() throws Exception {
+        try (OrderBatcher batcher = new OrderBatcher(house, 16, 16)) {
+            CompletableFuture<Void> first;
+            CompletableFuture<Void> second;
+            // Holding the house lock keeps the worker from recording either sale until both have been submitted
+            synchronized (house) {
+                first = batcher.submitSale(new SaleOrder(book, 1));
+                second = batcher.submitSale(new SaleOrder(book, 2));
+                assertTrue(second.cancel(false));
+            }
+            first.join();
+
+            assertThrows(CancellationException.class, second::join);
+            assertFalse(first.cancel(false));
+            assertEquals(1, house.getPublicationsSold().get(book).intValue());
+        }
+    }
+
+    @Test
+    void testOrdersSubmittedDuringCloseAlwaysComplete() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            OrderBatcher batcher = new OrderBatcher(house, 100_000, 16);
+            List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        futures.add(batcher.submitSale(new SaleOrder(book, 1)));
+                    }
+                });
+                submitters.add(submitter);
+                submitter.start();
+            }
+            batcher.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            // Every order is either applied or rejected; none is left waiting
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(e -> null)
+                    .get(5, TimeUnit.SECONDS);
+        }
+    }
+}
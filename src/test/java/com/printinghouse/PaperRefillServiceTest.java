@@ -0,0 +1,74 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.PaperRefillService;
+import com.printinghouse.service.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaperRefillServiceTest {
+
+    private PrintingHouse house;
+    private PrintingMachine machine;
+    private final Paper a4Plain = new Paper(PaperType.PLAIN, PageSize.A4);
+    private final Publication book = new Book("Book", 100, PageSize.A4, BigDecimal.ONE);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PricingService pricing = new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.10")), BigDecimal.ZERO);
+        house = new PrintingHouse("Refill House", pricing, new PrintingHouseConfig(BigDecimal.ZERO, 1000, BigDecimal.ZERO));
+        machine = new PrintingMachine("M-01", false, 100, 1000);
+        machine.loadPaper(a4Plain, 1000);
+        house.addMachine(machine);
+        house.addPaperToInventory(a4Plain, 5000);
+    }
+
+    @Test
+    void testStagesThenRefillsAtLowWaterMark() throws Exception {
+        try (PaperRefillService refill = new PaperRefillService(house, 0.25, 60_000)) {
+            refill.checkAll();
+            // Enough to go from the low-water mark (250) back to full is staged up front
+            assertEquals(750, refill.getStaged(machine));
+            assertEquals(4250, house.getPaperInventory().get(a4Plain).intValue());
+
+            machine.printPublication(book, 8, false); // 800 sheets, leaves 200
+            refill.checkAll();
+
+            // 750 staged + 50 from stock fill the machine, then 750 more are staged
+            assertEquals(1000, machine.getCurrentPaperLoad());
+            assertEquals(750, refill.getStaged(machine));
+            assertEquals(3450, house.getPaperInventory().get(a4Plain).intValue());
+        }
+        // Closing returns staged paper
+        assertEquals(4200, house.getPaperInventory().get(a4Plain).intValue());
+    }
+
+    @Test
+    void testBackgroundRefillKeepsJobsRunning() throws Exception {
+        try (PaperRefillService refill = new PaperRefillService(house, 0.5, 5)) {
+            assertEquals(500, refill.lowWaterMark(machine));
+            for (int i = 0; i < 10; i++) {
+                // Each job needs 500 sheets; without refills the third one would fail
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (machine.getCurrentPaperLoad() < 500 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                machine.printPublication(book, 5, false);
+            }
+        }
+        assertEquals(5_000, machine.getTotalPagesPrinted());
+        assertTrue(machine.getCurrentPaperLoad() <= 1000);
+    }
+}
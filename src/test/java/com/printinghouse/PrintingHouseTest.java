@@ -1,9 +1,14 @@
 package com.printinghouse;
 
+import com.printinghouse.exception.InvalidPrintRequestException;
+import com.printinghouse.model.CostLedger;
 import com.printinghouse.model.PrintingHouse;
 import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.employee.Employee;
 import com.printinghouse.model.employee.Manager;
 import com.printinghouse.model.employee.Operator;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintingMachine;
 import com.printinghouse.model.paper.Paper;
 import com.printinghouse.model.paper.PaperType;
 import com.printinghouse.model.publication.Book;
@@ -15,9 +20,10 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.List;
 import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class PrintingHouseTest {
 
@@ -75,9 +81,38 @@ public class PrintingHouseTest {
         house.calculateTotalExpenses();
 
         // Salaries: Op=100, Mgr=200 (no bonus)
-        // Paper: 1000 sheets * 0.20/ea = 200
-        // Total = (100 + 200) + 200 = 500
-        assertEquals(scale(new BigDecimal("500.00")), scale(house.getTotalExpenses()));
+        // Paper: nothing printed yet, so nothing consumed
+        // Total = (100 + 200) + 0 = 300
+        assertEquals(scale(new BigDecimal("300.00")), scale(house.getTotalExpenses()));
+    }
+
+    @Test
+    void testCalculateTotalExpenses_ConsumedPaper() throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 1000);
+        house.addMachine(machine);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        machine.printPublication(book, 5, false); // 5 * 100 = 500 sheets
+
+        house.calculateTotalExpenses();
+
+        // Salaries: 300
+        // Paper: 500 consumed sheets * 0.20/ea = 100 (the 500 left in the machine are not an expense)
+        // Total = 300 + 100 = 400
+        assertEquals(scale(new BigDecimal("400.00")), scale(house.getTotalExpenses()));
+        assertEquals(500, house.getCostLedger().getMachineSummary("M-01").sheetsConsumed());
+        assertEquals(scale(new BigDecimal("100.00")), scale(house.getCostLedger().getPublicationSummary(book).paperCost()));
+    }
+
+    @Test
+    void testPublicationMargin() throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 1000);
+        house.addMachine(machine);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        machine.printPublication(book, 5, false); // 100.00 of paper
+        house.recordSale(book, 5);                // 50.00 of revenue
+
+        CostLedger.CostSummary summary = house.getCostLedger().getPublicationSummary(book);
+        assertEquals(scale(new BigDecimal("-50.00")), scale(summary.margin()));
     }
 
     @Test
@@ -91,8 +126,42 @@ public class PrintingHouseTest {
         // Salaries:
         // Op = 100
         // Mgr = 200 + (200 * 0.50 bonus) = 300
-        // Paper: 1000 sheets * 0.20/ea = 200
-        // Total = (100 + 300) + 200 = 600
-        assertEquals(scale(new BigDecimal("600.00")), scale(house.getTotalExpenses()));
+        // Paper: nothing consumed
+        // Total = 100 + 300 = 400
+        assertEquals(scale(new BigDecimal("400.00")), scale(house.getTotalExpenses()));
+    }
+
+    @Test
+    void testSnapshotsAreSharedUntilStateChanges() {
+        Map<Publication, Integer> first = house.getPublicationsSold();
+        assertSame(first, house.getPublicationsSold());
+
+        house.recordSale(book, 5);
+        Map<Publication, Integer> second = house.getPublicationsSold();
+        assertNotSame(first, second);
+        assertTrue(first.isEmpty()); // Earlier snapshots are not affected
+        assertEquals(5, second.get(book).intValue());
+
+        assertSame(house.getPaperInventory(), house.getPaperInventory());
+        assertSame(house.getEmployees(), house.getEmployees());
+
+        List<Employee> before = house.getEmployees();
+        house.addEmployee(new Operator("Op 2", "O-2", new BigDecimal("100")));
+        assertEquals(before.size() + 1, house.getEmployees().size());
+        house.removeEmployee("O-2");
+        assertEquals(before.size(), house.getEmployees().size());
+    }
+
+    @Test
+    void testJobOnUnpricedPaperIsRefusedBeforeUsingPaper() throws Exception {
+        PrintingMachine machine = new PrintingMachine("M-01", false, 100, 1000);
+        machine.loadPaper(new Paper(PaperType.GLOSSY, PageSize.A4), 500); // No GLOSSY price is set
+        house.addMachine(machine);
+
+        assertEquals(MachineStatus.JOB_REFUSED, MachineStatus.of(machine.tryPrint(book, 1, false)));
+        assertThrows(InvalidPrintRequestException.class, () -> machine.printPublication(book, 1, false));
+        assertEquals(500, machine.getCurrentPaperLoad());
+        assertTrue(machine.getPrintedJobs().isEmpty());
+        assertEquals(0, house.getCostLedger().getTotalSummary().sheetsConsumed());
     }
 }
@@ -3,6 +3,8 @@ package com.printinghouse;
 import com.printinghouse.exception.InvalidPrintRequestException;
 import com.printinghouse.exception.MachineCapacityExceededException;
 import com.printinghouse.exception.NotEnoughPaperException;
+import com.printinghouse.model.machine.MachineStatus;
+import com.printinghouse.model.machine.PrintJobListener;
 import com.printinghouse.model.machine.PrintingMachine;
 import com.printinghouse.model.paper.Paper;
 import com.printinghouse.model.paper.PaperType;
@@ -85,4 +87,64 @@ public class PrintingMachineTest {
             machine.printPublication(a3Book, 1, false); // Machine has A4, book is A3
         });
     }
+
+    @Test
+    void testTryPrintReportsShortfallWithoutThrowing() throws Exception {
+        machine.loadPaper(a4Plain, 200);
+        long result = machine.tryPrint(book, 3, false); // Needs 300
+        assertEquals(MachineStatus.NOT_ENOUGH_PAPER, MachineStatus.of(result));
+        assertEquals(100, MachineStatus.shortfall(result));
+        assertEquals(200, machine.getCurrentPaperLoad());
+
+        result = machine.tryPrint(book, 2, false);
+        assertEquals(MachineStatus.OK, MachineStatus.of(result));
+        assertEquals(0, MachineStatus.shortfall(result));
+        assertEquals(0, machine.getCurrentPaperLoad());
+    }
+
+    @Test
+    void testTryPrintRejectionReasons() throws Exception {
+        PrintingMachine bwMachine = new PrintingMachine("M-02", false, 100, 1000);
+        assertEquals(MachineStatus.COLOR_NOT_SUPPORTED, MachineStatus.of(bwMachine.tryPrint(book, 1, true)));
+        long result = bwMachine.tryPrint(book, 1, false);
+        assertEquals(MachineStatus.NO_PAPER_LOADED, MachineStatus.of(result));
+        assertEquals(100, MachineStatus.shortfall(result));
+
+        bwMachine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A3), 100);
+        assertEquals(MachineStatus.WRONG_PAPER_SIZE, MachineStatus.of(bwMachine.tryPrint(book, 1, false)));
+    }
+
+    @Test
+    void testFailingListenerDoesNotEscapeTryPrint() throws Exception {
+        machine.loadPaper(a4Plain, 500);
+        machine.addJobListener((m, publication, copies, paper, sheets) -> {
+            throw new IllegalStateException("listener failure");
+        });
+
+        assertEquals(MachineStatus.OK, MachineStatus.of(machine.tryPrint(book, 1, false)));
+        assertEquals(400, machine.getCurrentPaperLoad());
+    }
+
+    @Test
+    void testRemovedListenerIsNotCalled() throws Exception {
+        machine.loadPaper(a4Plain, 500);
+        int[] calls = new int[1];
+        PrintJobListener listener = (m, publication, copies, paper, sheets) -> calls[0]++;
+        machine.addJobListener(listener);
+        machine.printPublication(book, 1, false);
+        machine.removeJobListener(listener);
+        machine.printPublication(book, 1, false);
+
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void testTryLoad() {
+        assertEquals(MachineStatus.OK, MachineStatus.of(machine.tryLoad(a4Plain, 900)));
+        long result = machine.tryLoad(a4Plain, 150);
+        assertEquals(MachineStatus.CAPACITY_EXCEEDED, MachineStatus.of(result));
+        assertEquals(50, MachineStatus.shortfall(result));
+        assertEquals(MachineStatus.PAPER_MISMATCH, MachineStatus.of(machine.tryLoad(new Paper(PaperType.GLOSSY, PageSize.A4), 10)));
+        assertEquals(900, machine.getCurrentPaperLoad());
+    }
 }
@@ -0,0 +1,98 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.QuoteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QuoteCacheTest {
+
+    private PrintingHouse house;
+    private PricingService pricing;
+    private QuoteCache cache;
+    private final Publication book = new Book("Book", 100, PageSize.A4, new BigDecimal("10.00"));
+
+    @BeforeEach
+    void setUp() {
+        pricing = new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.10")), new BigDecimal("1.00"));
+        house = new PrintingHouse("Cache House", pricing,
+                new PrintingHouseConfig(BigDecimal.ZERO, 100, new BigDecimal("0.10")));
+        cache = new QuoteCache(house, 2);
+    }
+
+    private BigDecimal scale(BigDecimal val) {
+        return val.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    void testCopiesInSameTierShareAnEntry() {
+        assertEquals(scale(new BigDecimal("500.00")), scale(cache.quoteSale(book, 50)));
+        assertEquals(scale(new BigDecimal("800.00")), scale(cache.quoteSale(book, 80)));
+        assertEquals(scale(new BigDecimal("1800.00")), scale(cache.quoteSale(book, 200)));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testConfigChangeInvalidatesSaleQuotes() {
+        assertEquals(scale(new BigDecimal("1800.00")), scale(cache.quoteSale(book, 200)));
+
+        house.setConfig(new PrintingHouseConfig(BigDecimal.ZERO, 100, new BigDecimal("0.50")));
+
+        assertEquals(scale(new BigDecimal("1000.00")), scale(cache.quoteSale(book, 200)));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void testPriceChangeInvalidatesPaperQuotes() {
+        Paper a4 = new Paper(PaperType.PLAIN, PageSize.A4);
+        assertEquals(scale(new BigDecimal("0.20")), scale(cache.quotePaper(a4)));
+        assertEquals(scale(new BigDecimal("0.20")), scale(cache.quotePaper(a4)));
+        assertEquals(1, cache.getHits());
+
+        pricing.setBasePrice(PaperType.PLAIN, new BigDecimal("0.30"));
+
+        assertEquals(scale(new BigDecimal("0.60")), scale(cache.quotePaper(a4)));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        Paper a4 = new Paper(PaperType.PLAIN, PageSize.A4);
+        Paper a3 = new Paper(PaperType.PLAIN, PageSize.A3);
+        cache.quotePaper(a4);
+        cache.quoteSale(book, 1);
+        cache.quotePaper(a4);     // a4 is now the most recently used
+        cache.quotePaper(a3);     // evicts the sale quote
+
+        assertEquals(1, cache.getEvictions());
+        cache.quotePaper(a4);
+        assertEquals(2, cache.getHits());
+        cache.quoteSale(book, 1);
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void testPublicationsDifferingOnlyInPriceAreQuotedSeparately() {
+        Publication cheap = new Book("Y", 10, PageSize.A4, new BigDecimal("2.00"));
+        Publication dear = new Book("Y", 10, PageSize.A4, new BigDecimal("5.00"));
+
+        assertEquals(scale(new BigDecimal("2.00")), scale(cache.quoteSale(cheap, 1)));
+        assertEquals(scale(new BigDecimal("5.00")), scale(cache.quoteSale(dear, 1)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.printinghouse;
+
+import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.ReportArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes one report per day; on day d, "Daily" sells d copies and "Weekly" sells 10 copies every 7th day.
+     */
+    private List<Path> writeDailyReports(int days) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int day = 1; day <= days; day++) {
+            PrintingHouse house = new PrintingHouse("Day " + day, new PricingService(Map.of(), BigDecimal.ZERO),
+                    new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+            house.recordSale(new Book("Daily", 10, PageSize.A4, new BigDecimal("1.00")), day);
+            if (day % 7 == 0) {
+                house.recordSale(new Book("Weekly", 10, PageSize.A4, new BigDecimal("2.00")), 10);
+            }
+            Path file = tempDir.resolve(String.format("day-%03d.txt", day));
+            house.saveReport(file.toString());
+            files.add(file);
+        }
+        return files;
+    }
+
+    @Test
+    void testAggregateAcrossChunks() throws Exception {
+        List<Path> files = writeDailyReports(100);
+        Path archiveFile = tempDir.resolve("reports.arc");
+        ReportArchive.create(files, archiveFile, 8);
+
+        try (ReportArchive archive = ReportArchive.open(archiveFile)) {
+            assertEquals(13, archive.getChunkCount());
+            assertEquals(100, archive.getReportNames().size());
+            assertEquals("day-001.txt", archive.getReportNames().get(0));
+
+            FinancialReport all = archive.aggregate();
+            assertEquals(5050, all.publicationsSold().get("Daily").intValue());
+            assertEquals(140, all.publicationsSold().get("Weekly").intValue());
+            assertEquals(0, new BigDecimal("5330").compareTo(all.totalRevenue()));
+
+            // Days 1 to 9 only
+            FinancialReport firstDays = archive.aggregate(name -> name.startsWith("day-00"));
+            assertEquals(45, firstDays.publicationsSold().get("Daily").intValue());
+            assertEquals(10, firstDays.publicationsSold().get("Weekly").intValue());
+        }
+        assertTrue(Files.size(archiveFile) < files.stream().mapToLong(f -> f.toFile().length()).sum());
+    }
+
+    @Test
+    void testEmptyArchiveAndBadFile() throws Exception {
+        Path archiveFile = tempDir.resolve("empty.arc");
+        ReportArchive.create(List.of(), archiveFile, 8);
+        try (ReportArchive archive = ReportArchive.open(archiveFile)) {
+            assertTrue(archive.aggregate().publicationsSold().isEmpty());
+        }
+
+        Path notAnArchive = tempDir.resolve("report.txt");
+        Files.writeString(notAnArchive, "--- Printing House Financial Report ---\n");
+        assertThrows(IOException.class, () -> ReportArchive.open(notAnArchive));
+    }
+}
@@ -0,0 +1,72 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.model.publication.PublicationType;
+import com.printinghouse.service.SalePricingRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SalePricingRulesTest {
+
+    private SalePricingRules rules;
+    private final Publication book = new Book("Book", 100, PageSize.A4, new BigDecimal("10.00"));
+    private final Publication poster = new Poster("Poster", PageSize.A1, new BigDecimal("10.00"));
+
+    @BeforeEach
+    void setUp() {
+        rules = SalePricingRules.builder()
+                .volumeTier(100, new BigDecimal("0.10"))  // > 100 copies: 10% off
+                .volumeTier(1000, new BigDecimal("0.20")) // > 1000 copies: 20% off
+                .typeSurcharge(PublicationType.POSTER, new BigDecimal("0.30"))
+                .sizeSurcharge(PageSize.A1, new BigDecimal("0.20"))
+                .clientDiscount("ACME", new BigDecimal("0.50"))
+                .build();
+    }
+
+    private BigDecimal scale(BigDecimal val) {
+        return val.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    void testTierSelection() {
+        assertEquals(0, rules.tierIndex(1));
+        assertEquals(0, rules.tierIndex(100));  // Threshold must be exceeded
+        assertEquals(1, rules.tierIndex(101));
+        assertEquals(1, rules.tierIndex(1000));
+        assertEquals(2, rules.tierIndex(1001));
+    }
+
+    @Test
+    void testVolumeTiers() {
+        assertEquals(scale(new BigDecimal("10.00")), scale(rules.pricePerCopy(book, 50, null)));
+        assertEquals(scale(new BigDecimal("9.00")), scale(rules.pricePerCopy(book, 500, null)));
+        assertEquals(scale(new BigDecimal("8.00")), scale(rules.pricePerCopy(book, 5000, null)));
+    }
+
+    @Test
+    void testSurchargesAndClientDiscount() {
+        // 10.00 * (1 + 0.30 + 0.20) = 15.00
+        assertEquals(scale(new BigDecimal("15.00")), scale(rules.pricePerCopy(poster, 1, null)));
+        // 15.00 * 0.90 * 0.50 = 6.75; 200 copies = 1350.00
+        assertEquals(scale(new BigDecimal("1350.00")), scale(rules.totalPrice(poster, 200, "ACME")));
+        // Unknown clients pay the standard rate
+        assertEquals(scale(new BigDecimal("15.00")), scale(rules.pricePerCopy(poster, 1, "Other")));
+    }
+
+    @Test
+    void testFromConfigMatchesSingleThreshold() {
+        SalePricingRules single = SalePricingRules.fromConfig(
+                new PrintingHouseConfig(BigDecimal.ZERO, 100, new BigDecimal("0.10")));
+        assertEquals(scale(new BigDecimal("1000.00")), scale(single.totalPrice(book, 100, null)));
+        assertEquals(scale(new BigDecimal("909.00")), scale(single.totalPrice(book, 101, null)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.printinghouse;
+
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.SalesLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesLedgerTest {
+
+    private final Publication book = new Book("Book", 100, PageSize.A4, new BigDecimal("10.00"));
+    private final Publication poster = new Poster("Poster", PageSize.A2, new BigDecimal("2.50"));
+
+    /**
+     * Sums copies and revenue (copies * unit price) across the records it visits.
+     */
+    private static class Totals implements SalesLedger.SaleRecordVisitor {
+        long copies;
+        long revenueMinor;
+        long records;
+
+        @Override
+        public void visit(long index, int publicationId, int copies, long unitPriceMinor, long timestampMillis) {
+            this.copies += copies;
+            this.revenueMinor += copies * unitPriceMinor;
+            this.records++;
+        }
+
+        Totals merge(Totals other) {
+            copies += other.copies;
+            revenueMinor += other.revenueMinor;
+            records += other.records;
+            return this;
+        }
+    }
+
+    @Test
+    void testRecordSaleAppendsToLedger(@TempDir Path tempDir) throws Exception {
+        PrintingHouse house = new PrintingHouse("Ledger House", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, 100, new BigDecimal("0.10")));
+        try (SalesLedger ledger = SalesLedger.open(tempDir.resolve("sales.ledger"))) {
+            house.setSalesLedger(ledger);
+            house.recordSale(book, 5);     // 10.00 each
+            house.recordSale(book, 200);   // 9.00 each
+            house.recordSale(poster, 3);   // 2.50 each
+
+            assertEquals(3, ledger.size());
+            List<long[]> records = new ArrayList<>();
+            ledger.scan(0, ledger.size(), (index, id, copies, price, time) -> records.add(new long[]{id, copies, price}));
+
+            assertArrayEquals(new long[]{0, 5, 1000}, records.get(0));
+            assertArrayEquals(new long[]{0, 200, 900}, records.get(1));
+            assertArrayEquals(new long[]{1, 3, 250}, records.get(2));
+            assertEquals(poster, ledger.publicationOf(1));
+        }
+    }
+
+    @Test
+    void testParallelScanAcrossSegmentsAndReopen(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales.ledger");
+        int records = 10_000;
+        try (SalesLedger ledger = SalesLedger.open(file, 1000)) { // 10 segments
+            for (int i = 0; i < records; i++) {
+                ledger.append(i % 2 == 0 ? book : poster, 2, 150, i);
+            }
+        }
+
+        try (SalesLedger ledger = SalesLedger.open(file, 1000)) {
+            assertEquals(records, ledger.size());
+            assertEquals(book, ledger.publicationOf(0));
+
+            Totals all = ledger.parallelScan(0, ledger.size(), Totals::new, Totals::merge);
+            assertEquals(records, all.records);
+            assertEquals(2L * records, all.copies);
+            assertEquals(300L * records, all.revenueMinor);
+
+            Totals range = ledger.parallelScan(1500, 4500, Totals::new, Totals::merge);
+            assertEquals(3000, range.records);
+
+            // Appending after reopening continues where the file left off
+            assertEquals(records, ledger.append(book, 1, 100, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> ledger.scan(0, records + 2, (i, p, c, u, t) -> { }));
+        }
+    }
+
+    @Test
+    void testReopenWithCommaInTitleAndPriceOnlyDifferences(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales.ledger");
+        Publication novel = new Book("War, and Peace", 1200, PageSize.A5, new BigDecimal("12.00"));
+        Publication reissue = new Book("War, and Peace", 1200, PageSize.A5, new BigDecimal("15.00"));
+        try (SalesLedger ledger = SalesLedger.open(file)) {
+            ledger.append(novel, 1, 1200, 0);
+            ledger.append(reissue, 1, 1500, 0);
+            ledger.append(novel, 1, 1200, 0);
+        }
+
+        try (SalesLedger ledger = SalesLedger.open(file)) {
+            List<Publication> publications = ledger.getPublications();
+            assertEquals(2, publications.size());
+            assertEquals("War, and Peace", publications.get(0).getTitle());
+            assertEquals(0, new BigDecimal("15.00").compareTo(publications.get(1).getBasePricePerCopy()));
+            assertEquals(3, ledger.size());
+        }
+    }
+
+    @Test
+    void testReopenKeepsPaddedAndEmptyTitles(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales.ledger");
+        Publication padded = new Book(" Padded ", 100, PageSize.A4, new BigDecimal("3.00"));
+        Publication untitled = new Poster("", PageSize.A3, new BigDecimal("1.00"));
+        try (SalesLedger ledger = SalesLedger.open(file)) {
+            ledger.append(padded, 1, 300, 0);
+            ledger.append(untitled, 1, 100, 0);
+        }
+
+        try (SalesLedger ledger = SalesLedger.open(file)) {
+            assertEquals(" Padded ", ledger.publicationOf(0).getTitle());
+            assertEquals("", ledger.publicationOf(1).getTitle());
+            // Selling them again reuses their IDs
+            ledger.append(padded, 1, 300, 0);
+            ledger.append(untitled, 1, 100, 0);
+            assertEquals(2, ledger.getPublications().size());
+            int[] ids = new int[4];
+            ledger.scan(0, 4, (index, publicationId, copies, unitPriceMinor, timestampMillis) -> ids[(int) index] = publicationId);
+            assertArrayEquals(new int[]{0, 1, 0, 1}, ids);
+        }
+    }
+}
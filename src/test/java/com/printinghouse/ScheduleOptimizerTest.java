@@ -0,0 +1,104 @@
+package com.printinghouse;
+
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.order.FleetSchedule;
+import com.printinghouse.model.order.PrintJob;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Poster;
+import com.printinghouse.service.ScheduleOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleOptimizerTest {
+
+    @Test
+    void testColorAndPaperSizeConstraints() throws Exception {
+        PrintingMachine mono = new PrintingMachine("MONO", false, 100, 10000);
+        PrintingMachine color = new PrintingMachine("COLOR", true, 100, 10000);
+        PrintingMachine a3Only = new PrintingMachine("A3", true, 100, 10000);
+        a3Only.loadPaper(new Paper(PaperType.PLAIN, PageSize.A3), 100);
+
+        PrintJob colorA4 = new PrintJob(new Book("Color", 100, PageSize.A4, BigDecimal.ONE), 10, true);
+        PrintJob monoA4 = new PrintJob(new Book("Mono", 100, PageSize.A4, BigDecimal.ONE), 10, false);
+        PrintJob poster = new PrintJob(new Poster("Poster", PageSize.A3, BigDecimal.ONE), 1000, true);
+        PrintJob a1 = new PrintJob(new Poster("Huge", PageSize.A1, BigDecimal.ONE), 10, true);
+
+        // A1 paper is loaded nowhere, but the unloaded machines accept it, so nothing is unassignable here
+        FleetSchedule schedule = ScheduleOptimizer.optimize(
+                List.of(colorA4, monoA4, poster, a1), List.of(mono, color, a3Only), 1000);
+
+        assertTrue(schedule.unassignable().isEmpty());
+        assertFalse(schedule.assignments().get("MONO").contains(colorA4));
+        assertFalse(schedule.assignments().get("MONO").contains(a1));
+        assertFalse(schedule.assignments().get("A3").contains(colorA4));
+        assertFalse(schedule.assignments().get("A3").contains(monoA4));
+        assertEquals(10.1, schedule.makespanMinutes(), 1e-9);
+    }
+
+    @Test
+    void testJobsNoMachineCanPrintAreReported() {
+        PrintingMachine mono = new PrintingMachine("MONO", false, 100, 1000);
+        PrintJob colorJob = new PrintJob(new Book("Color", 10, PageSize.A4, BigDecimal.ONE), 1, true);
+
+        FleetSchedule schedule = ScheduleOptimizer.optimize(List.of(colorJob), List.of(mono), 1000);
+
+        assertEquals(List.of(colorJob), schedule.unassignable());
+        assertTrue(schedule.assignments().get("MONO").isEmpty());
+        assertEquals(0.0, schedule.makespanMinutes());
+    }
+
+    @Test
+    void testJobsLargerThanAMachinesCapacityAvoidIt() {
+        PrintingMachine small = new PrintingMachine("SMALL", false, 1000, 500);
+        PrintingMachine large = new PrintingMachine("LARGE", false, 10, 5000);
+        PrintJob big = new PrintJob(new Book("Big", 100, PageSize.A4, BigDecimal.ONE), 10, false);     // 1000 sheets
+        PrintJob huge = new PrintJob(new Book("Huge", 100, PageSize.A4, BigDecimal.ONE), 100, false);  // 10000 sheets
+
+        FleetSchedule schedule = ScheduleOptimizer.optimize(List.of(big, huge), List.of(small, large), 1000);
+
+        // SMALL would be 100x faster, but cannot hold the job's paper
+        assertEquals(List.of(big), schedule.assignments().get("LARGE"));
+        assertTrue(schedule.assignments().get("SMALL").isEmpty());
+        assertEquals(List.of(huge), schedule.unassignable());
+    }
+
+    @Test
+    void testLargeOrderBookIsCloseToLowerBound() {
+        Random random = new Random(42);
+        List<PrintingMachine> machines = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            machines.add(new PrintingMachine("M-" + i, true, 50 + 25 * (i % 4), 100000));
+        }
+        List<PrintJob> jobs = new ArrayList<>();
+        long totalSheets = 0;
+        for (int i = 0; i < 2000; i++) {
+            PrintJob job = new PrintJob(new Book("Book " + i, 10 + random.nextInt(400), PageSize.A4, BigDecimal.ONE),
+                    1 + random.nextInt(20), false);
+            jobs.add(job);
+            totalSheets += job.sheets();
+        }
+
+        FleetSchedule optimized = ScheduleOptimizer.optimize(jobs, machines, 2000);
+        FleetSchedule greedyOnly = ScheduleOptimizer.optimize(jobs, machines, 0);
+
+        // No schedule can beat all machines finishing at the same moment
+        double totalSpeed = machines.stream().mapToInt(PrintingMachine::getPagesPerMinute).sum();
+        double lowerBound = totalSheets / totalSpeed;
+        assertTrue(optimized.makespanMinutes() >= lowerBound - 1e-6);
+        assertTrue(optimized.makespanMinutes() <= greedyOnly.makespanMinutes() + 1e-9);
+        assertTrue(optimized.makespanMinutes() <= lowerBound * 1.01,
+                "Makespan " + optimized.makespanMinutes() + " vs lower bound " + lowerBound);
+
+        int assigned = optimized.assignments().values().stream().mapToInt(List::size).sum();
+        assertEquals(jobs.size(), assigned);
+    }
+}
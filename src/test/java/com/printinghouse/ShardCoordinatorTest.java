@@ -0,0 +1,106 @@
+package com.printinghouse;
+
+import com.printinghouse.model.FinancialReport;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.order.SaleOrder;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.ShardCoordinator;
+import com.printinghouse.service.ShardWorker;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardCoordinatorTest {
+
+    private static PrintingHouse newShardHouse() {
+        return new PrintingHouse("Shard", new PricingService(Map.of(), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+    }
+
+    private static List<SaleOrder> orders() {
+        List<SaleOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Publication publication = new Book("Title " + (i % 50), 10, PageSize.A4, new BigDecimal("1.00"));
+            orders.add(new SaleOrder(publication, 2));
+        }
+        return orders;
+    }
+
+    @Test
+    void testSalesArePartitionedAndReportsMerged() throws Exception {
+        try (ShardWorker first = new ShardWorker(newShardHouse(), 0);
+             ShardWorker second = new ShardWorker(newShardHouse(), 0)) {
+            first.start();
+            second.start();
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            try (ShardCoordinator coordinator = new ShardCoordinator(List.of(
+                    new InetSocketAddress(loopback, first.getPort()),
+                    new InetSocketAddress(loopback, second.getPort())))) {
+                coordinator.recordSales(orders());
+                coordinator.addPaperToInventory(new Paper(PaperType.PLAIN, PageSize.A4), 500);
+
+                FinancialReport report = coordinator.collectReport();
+                assertEquals(0, new BigDecimal("2000").compareTo(report.totalRevenue()));
+                assertEquals(50, report.publicationsSold().size());
+                assertEquals(40, report.publicationsSold().get("Title 7").intValue());
+
+                // Each title lives on exactly one worker and both workers got some
+                int firstTitles = first.getHouse().getPublicationsSold().size();
+                int secondTitles = second.getHouse().getPublicationsSold().size();
+                assertEquals(50, firstTitles + secondTitles);
+                assertTrue(firstTitles > 0 && secondTitles > 0);
+            }
+        }
+    }
+
+    @Test
+    void testWorkerInSeparateProcess() throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ShardWorker.class.getName(), "0")
+                .redirectErrorStream(true)
+                .start();
+        try {
+            BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String line;
+            while ((line = output.readLine()) != null && !line.startsWith("READY ")) {
+                // Skip anything printed before the worker is ready
+            }
+            assertNotNull(line, "Worker process exited before becoming ready");
+            int port = Integer.parseInt(line.substring("READY ".length()).trim());
+
+            try (ShardWorker local = new ShardWorker(newShardHouse(), 0)) {
+                local.start();
+                InetAddress loopback = InetAddress.getLoopbackAddress();
+                try (ShardCoordinator coordinator = new ShardCoordinator(List.of(
+                        new InetSocketAddress(loopback, local.getPort()),
+                        new InetSocketAddress(loopback, port)))) {
+                    coordinator.recordSales(orders());
+                    FinancialReport report = coordinator.collectReport();
+                    assertEquals(0, new BigDecimal("2000").compareTo(report.totalRevenue()));
+                    assertEquals(50, report.publicationsSold().size());
+                }
+            }
+        } finally {
+            process.getOutputStream().close();
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.printinghouse;
+
+import com.printinghouse.event.JobPrinted;
+import com.printinghouse.event.SaleRecorded;
+import com.printinghouse.model.PrintingHouse;
+import com.printinghouse.model.PrintingHouseConfig;
+import com.printinghouse.model.machine.PrintingMachine;
+import com.printinghouse.model.paper.Paper;
+import com.printinghouse.model.paper.PaperType;
+import com.printinghouse.model.publication.Book;
+import com.printinghouse.model.publication.PageSize;
+import com.printinghouse.model.publication.Publication;
+import com.printinghouse.service.PricingService;
+import com.printinghouse.service.StockReconciler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockReconcilerTest {
+
+    @Test
+    void testBalancesFollowPrintsAndSales() throws Exception {
+        PrintingHouse house = new PrintingHouse("Stock House",
+                new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.05")), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        PrintingMachine machine = new PrintingMachine("M-1", false, 100, 10000);
+        house.addMachine(machine);
+        StockReconciler reconciler = StockReconciler.attach(house);
+
+        Book printed = new Book("Printed", 10, PageSize.A4, BigDecimal.ONE);
+        Book neverPrinted = new Book("Never Printed", 10, PageSize.A4, BigDecimal.ONE);
+        machine.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        machine.printPublication(printed, 50, false);
+        house.recordSale(printed, 30);
+        house.recordSale(neverPrinted, 5);
+
+        assertEquals(20, reconciler.getBalance(printed));
+        assertEquals(-5, reconciler.getBalance(neverPrinted));
+        assertFalse(reconciler.isShort(printed));
+        assertTrue(reconciler.isShort(neverPrinted));
+        assertEquals(1, reconciler.getShortCount());
+        assertEquals(5, reconciler.getTotalShortfall());
+        assertEquals(20, reconciler.getTotalSurplus());
+        assertEquals(Map.of(neverPrinted, 5L), reconciler.getShortPublications());
+
+        // Selling the remaining stock and more turns the surplus into a shortfall
+        house.recordSale(printed, 25);
+        assertEquals(10, reconciler.getTotalShortfall());
+        assertEquals(0, reconciler.getTotalSurplus());
+        assertEquals(2, reconciler.getShortCount());
+    }
+
+    @Test
+    void testAttachCountsExistingPrintsAndSales() throws Exception {
+        PrintingHouse house = new PrintingHouse("Stock House",
+                new PricingService(Map.of(PaperType.PLAIN, new BigDecimal("0.05")), BigDecimal.ZERO),
+                new PrintingHouseConfig(BigDecimal.ZERO, Integer.MAX_VALUE, BigDecimal.ZERO));
+        PrintingMachine first = new PrintingMachine("M-1", false, 100, 10000);
+        PrintingMachine second = new PrintingMachine("M-2", false, 100, 10000);
+        house.addMachine(first);
+        house.addMachine(second);
+
+        Book book = new Book("Early", 10, PageSize.A4, BigDecimal.ONE);
+        Book soldOnly = new Book("Sold Only", 10, PageSize.A4, BigDecimal.ONE);
+        first.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        second.loadPaper(new Paper(PaperType.PLAIN, PageSize.A4), 1000);
+        first.printPublication(book, 30, false);
+        second.printPublication(book, 20, false);
+        house.recordSale(book, 15);
+        house.recordSale(soldOnly, 4);
+
+        StockReconciler reconciler = StockReconciler.attach(house);
+        assertEquals(35, reconciler.getBalance(book));
+        assertEquals(-4, reconciler.getBalance(soldOnly));
+        assertEquals(35, reconciler.getTotalSurplus());
+        assertEquals(4, reconciler.getTotalShortfall());
+
+        // Later events continue from the seeded balances
+        second.printPublication(soldOnly, 4, false);
+        assertEquals(0, reconciler.getBalance(soldOnly));
+        assertEquals(0, reconciler.getTotalShortfall());
+        assertEquals(0, reconciler.getShortCount());
+    }
+
+    @Test
+    void testConcurrentEventsKeepTotalsConsistent() throws Exception {
+        StockReconciler reconciler = new StockReconciler();
+        Publication[] catalogue = new Publication[8];
+        for (int i = 0; i < catalogue.length; i++) {
+            catalogue[i] = new Book("Title " + i, 10, PageSize.A4, BigDecimal.ONE);
+        }
+        // Every thread prints and sells the same number of copies of every title, so everything ends balanced
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    Publication publication = catalogue[i % catalogue.length];
+                    reconciler.accept(new SaleRecorded(publication, 3, null, BigDecimal.ONE, 0));
+                    reconciler.accept(new JobPrinted("M-1", publication, 3, null, 30, 0));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (Publication publication : catalogue) {
+            assertEquals(0, reconciler.getBalance(publication));
+        }
+        assertEquals(0, reconciler.getTotalShortfall());
+        assertEquals(0, reconciler.getTotalSurplus());
+        assertEquals(0, reconciler.getShortCount());
+    }
+
+    @Test
+    void testTotalsMatchFullRecount() {
+        StockReconciler reconciler = new StockReconciler();
+        Random random = new Random(11);
+        Publication[] catalogue = new Publication[1000];
+        for (int i = 0; i < catalogue.length; i++) {
+            catalogue[i] = new Book("Title " + i, 10, PageSize.A4, BigDecimal.ONE);
+        }
+        long[] expected = new long[catalogue.length];
+        for (int i = 0; i < 100_000; i++) {
+            int index = random.nextInt(catalogue.length);
+            int copies = 1 + random.nextInt(10);
+            if (random.nextBoolean()) {
+                reconciler.accept(new JobPrinted("M-1", catalogue[index], copies, null, copies * 10, 0));
+                expected[index] += copies;
+            } else {
+                reconciler.accept(new SaleRecorded(catalogue[index], copies, null, BigDecimal.ONE, 0));
+                expected[index] -= copies;
+            }
+        }
+
+        long shortfall = 0;
+        long surplus = 0;
+        int shortCount = 0;
+        for (int i = 0; i < catalogue.length; i++) {
+            assertEquals(expected[i], reconciler.getBalance(catalogue[i]));
+            if (expected[i] < 0) {
+                shortfall -= expected[i];
+                shortCount++;
+            } else {
+                surplus += expected[i];
+            }
+        }
+        assertEquals(shortfall, reconciler.getTotalShortfall());
+        assertEquals(surplus, reconciler.getTotalSurplus());
+        assertEquals(shortCount, reconciler.getShortCount());
+    }
+}